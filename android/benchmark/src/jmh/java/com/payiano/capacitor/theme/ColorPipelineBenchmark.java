@@ -0,0 +1,81 @@
+package com.payiano.capacitor.theme;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Color cascade (setBackgroundColors / configure), render target
+ * resolution (standard bars and cutout-aware overlay strips) and 'auto' bar
+ * style decisions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorPipelineBenchmark {
+
+    private final ColorSet stored = new ColorSet();
+    private final ColorSet allProvided = new ColorSet();
+    private final ColorSet contentOnly = new ColorSet();
+    private final int[] targets = new int[RenderTargets.COUNT];
+    private final IconContrast iconContrast = new IconContrast();
+
+    private SystemUIState portrait;
+    private SystemUIState landscapeWithCutout;
+
+    @Setup
+    public void setup() {
+        for (int slot = 0; slot < ColorSet.COUNT; slot++) {
+            allProvided.set(slot, 0xFF000000 | (slot * 0x202020));
+        }
+        contentOnly.set(ColorSet.CONTENT, 0xFFFFFFFF);
+        stored.cascadeFrom(allProvided);
+
+        portrait = SystemUIState.INITIAL.withEdgeToEdge(true, true).withInsets(96, 48, 0, 0, 96, 0, 0);
+        landscapeWithCutout = SystemUIState.INITIAL.withEdgeToEdge(true, true).withInsets(0, 0, 96, 48, 0, 96, 0);
+    }
+
+    @Benchmark
+    public int cascadeAllProvided() {
+        stored.cascadeFrom(allProvided);
+        return stored.getMask();
+    }
+
+    @Benchmark
+    public int cascadeFromContent() {
+        stored.cascadeFrom(contentOnly);
+        return stored.getMask();
+    }
+
+    @Benchmark
+    public int resolveStandardBars() {
+        return RenderTargets.resolveDecor(stored, targets) | RenderTargets.resolveStandardBars(stored, targets);
+    }
+
+    @Benchmark
+    public int resolveOverlay() {
+        RenderTargets.resolveOverlay(stored, portrait, targets);
+        return targets[RenderTargets.OVERLAY_LEFT];
+    }
+
+    @Benchmark
+    public int resolveOverlayWithCutout() {
+        RenderTargets.resolveOverlay(stored, landscapeWithCutout, targets);
+        return targets[RenderTargets.OVERLAY_LEFT];
+    }
+
+    @Benchmark
+    public boolean autoStyleCached() {
+        return iconContrast.needsDarkIcons(stored.get(ColorSet.STATUS_BAR));
+    }
+
+    @Benchmark
+    public double autoStyleLuminance() {
+        return IconContrast.luminance(stored.get(ColorSet.STATUS_BAR));
+    }
+}
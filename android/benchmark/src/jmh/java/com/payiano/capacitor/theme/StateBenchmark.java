@@ -0,0 +1,69 @@
+package com.payiano.capacitor.theme;
+
+import java.util.concurrent.TimeUnit;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * getInfo payload construction and the state side of inset dispatches: the
+ * unchanged early exit, and a change that publishes a new snapshot and
+ * re-resolves the overlay colors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StateBenchmark {
+
+    private final ColorSet colors = new ColorSet();
+    private final int[] targets = new int[RenderTargets.COUNT];
+
+    private SystemUIState state;
+    private boolean landscape;
+
+    @Setup
+    public void setup() {
+        ColorSet provided = new ColorSet();
+        provided.set(ColorSet.CONTENT, 0xFFFFFFFF);
+        provided.set(ColorSet.CUTOUT, 0xFF000000);
+        colors.cascadeFrom(provided);
+
+        state = SystemUIState.INITIAL.withEdgeToEdge(true, true).withInsets(96, 48, 0, 0, 96, 0, 0);
+    }
+
+    @Benchmark
+    public JSONObject buildInfoPayload() throws JSONException {
+        JSONObject result = new JSONObject();
+        InfoPayload.write(state, result);
+        return result;
+    }
+
+    @Benchmark
+    public boolean insetsUnchanged() {
+        return state.hasInsets(96, 48, 0, 0, 96, 0, 0);
+    }
+
+    @Benchmark
+    public int insetsChanged() {
+        landscape = !landscape;
+        if (landscape) {
+            applyInsets(0, 0, 96, 48, 0, 96, 0);
+        } else {
+            applyInsets(96, 48, 0, 0, 96, 0, 0);
+        }
+        return targets[RenderTargets.OVERLAY_LEFT];
+    }
+
+    private void applyInsets(int statusBar, int navigationBar, int left, int right, int cutoutTop, int cutoutLeft, int cutoutRight) {
+        if (!state.hasInsets(statusBar, navigationBar, left, right, cutoutTop, cutoutLeft, cutoutRight)) {
+            state = state.withInsets(statusBar, navigationBar, left, right, cutoutTop, cutoutLeft, cutoutRight);
+        }
+        RenderTargets.resolveOverlay(colors, state, targets);
+    }
+}
@@ -0,0 +1,152 @@
+package com.payiano.capacitor.theme;
+
+import com.getcapacitor.JSObject;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the options of the last accepted state-changing call, so that an
+ * identical repeat can be resolved on the plugin thread without queuing,
+ * parsing or reapplying anything.
+ *
+ * Options are normalized before comparison: each method's keys are read in a
+ * fixed order (key order does not matter), a missing key equals null, and
+ * numbers compare by value. Fingerprints compare by hash, then by value.
+ *
+ * Every state change that does not go through {@link #check} must call
+ * {@link #reset()}, since the last accepted call then no longer describes
+ * the applied state. Thread-safe.
+ */
+final class CallFingerprint {
+
+    private static final String[] BAR_STYLE_KEYS = { "statusBarStyle", "navigationBarStyle" };
+    private static final String[] VISIBLE_KEYS = { "visible" };
+    private static final String[] EDGE_TO_EDGE_KEYS = { "enabled" };
+    private static final String[] THEME_KEYS = { "name" };
+    private static final String[] CONFIGURE_KEYS = concat(
+        new String[] { "edgeToEdge", "statusBarVisible", "navigationBarVisible", "statusBarStyle", "navigationBarStyle" },
+        ColorSet.KEYS
+    );
+
+    private String method;
+    private Object[] values;
+    private int hash;
+
+    private final AtomicLong checked = new AtomicLong();
+    private final AtomicLong repeats = new AtomicLong();
+
+    /**
+     * Compare a call with the last accepted one and, if it differs, record it
+     * as the new last accepted call.
+     *
+     * @return Whether the call repeats the last accepted one
+     */
+    synchronized boolean check(String method, JSObject options) {
+        String[] keys = keysFor(method);
+        if (keys == null) {
+            clear();
+            return false;
+        }
+        checked.incrementAndGet();
+
+        Object[] next = new Object[keys.length];
+        int nextHash = method.hashCode();
+        for (int i = 0; i < keys.length; i++) {
+            next[i] = normalize(options.opt(keys[i]));
+            nextHash = 31 * nextHash + Objects.hashCode(next[i]);
+        }
+
+        if (nextHash == hash && method.equals(this.method) && equalValues(next, values)) {
+            repeats.incrementAndGet();
+            return true;
+        }
+
+        this.method = method;
+        this.values = next;
+        this.hash = nextHash;
+        return false;
+    }
+
+    /**
+     * Forget the last accepted call.
+     */
+    synchronized void reset() {
+        clear();
+    }
+
+    /**
+     * @return Number of calls compared against the last accepted one
+     */
+    long getChecked() {
+        return checked.get();
+    }
+
+    /**
+     * @return Number of calls resolved as repeats
+     */
+    long getRepeats() {
+        return repeats.get();
+    }
+
+    private void clear() {
+        method = null;
+        values = null;
+        hash = 0;
+    }
+
+    private static String[] keysFor(String method) {
+        switch (method) {
+            case "configure":
+                return CONFIGURE_KEYS;
+            case "setBackgroundColors":
+                return ColorSet.KEYS;
+            case "setBarStyles":
+                return BAR_STYLE_KEYS;
+            case "setStatusBarVisibility":
+            case "setNavigationBarVisibility":
+                return VISIBLE_KEYS;
+            case "setEdgeToEdge":
+                return EDGE_TO_EDGE_KEYS;
+            case "applyTheme":
+                return THEME_KEYS;
+            default:
+                return null;
+        }
+    }
+
+    private static Object normalize(Object value) {
+        if (value == null || value == JSObject.NULL) {
+            return null;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (number != Math.rint(number)) {
+                return number;
+            }
+            return (long) number;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Boolean || value instanceof String) {
+            return value;
+        }
+        return value.toString();
+    }
+
+    private static boolean equalValues(Object[] a, Object[] b) {
+        if (b == null || a.length != b.length) return false;
+
+        for (int i = 0; i < a.length; i++) {
+            if (!Objects.equals(a[i], b[i])) return false;
+        }
+        return true;
+    }
+
+    private static String[] concat(String[] a, String[] b) {
+        String[] result = new String[a.length + b.length];
+        System.arraycopy(a, 0, result, 0, a.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.payiano.capacitor.theme;
+
+import android.graphics.Color;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache from color strings to packed ARGB ints.
+ *
+ * Apps tend to send the same handful of palette strings over and over, so
+ * {@link Color#parseColor(String)} only runs the first time a string is seen.
+ * Thread-safe: colors are parsed on the Capacitor plugin thread.
+ */
+final class ColorCache {
+
+    private static final int MAX_ENTRIES = 64;
+
+    private final LinkedHashMap<String, Integer> entries = new LinkedHashMap<String, Integer>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Parse a color string, using the cached value when available.
+     *
+     * @throws IllegalArgumentException if the string is not a valid color
+     */
+    synchronized int parse(String color) {
+        Integer cached = entries.get(color);
+        if (cached != null) {
+            return cached;
+        }
+
+        int parsed = Color.parseColor(color);
+        entries.put(color, parsed);
+        return parsed;
+    }
+}
@@ -0,0 +1,108 @@
+package com.payiano.capacitor.theme;
+
+/**
+ * Compact set of background colors stored as packed ARGB ints.
+ *
+ * Each UI area has a fixed slot. A presence bitmask records which slots hold
+ * a value, so "not set" is distinguishable from any color (including
+ * transparent) without boxing.
+ */
+final class ColorSet {
+
+    // Slots
+    static final int CONTENT = 0;
+    static final int STATUS_BAR = 1;
+    static final int NAV_BAR = 2;
+    static final int NAV_BAR_LEFT = 3;
+    static final int NAV_BAR_RIGHT = 4;
+    static final int CUTOUT = 5;
+    static final int COUNT = 6;
+
+    /** Option keys, indexed by slot */
+    static final String[] KEYS = {
+        "contentBackgroundColor",
+        "statusBarBackgroundColor",
+        "navigationBarBackgroundColor",
+        "navigationBarLeftBackgroundColor",
+        "navigationBarRightBackgroundColor",
+        "cutoutBackgroundColor"
+    };
+
+    private final int[] values = new int[COUNT];
+    private int mask = 0;
+
+    boolean has(int slot) {
+        return (mask & (1 << slot)) != 0;
+    }
+
+    int get(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Get a slot's color, or a fallback when the slot is not set.
+     */
+    int get(int slot, int fallback) {
+        return has(slot) ? values[slot] : fallback;
+    }
+
+    void set(int slot, int color) {
+        values[slot] = color;
+        mask |= 1 << slot;
+    }
+
+    boolean isEmpty() {
+        return mask == 0;
+    }
+
+    int getMask() {
+        return mask;
+    }
+
+    void clear() {
+        mask = 0;
+    }
+
+    /**
+     * Merge a set of newly provided colors into this (stored) set, filling
+     * areas that were not provided from related areas that were:
+     *
+     * - status bar: content
+     * - navigation bar: left, right, content
+     * - left bar: right, navigation bar, content
+     * - right bar: left, navigation bar, content
+     * - cutout: status bar, content
+     *
+     * @return Whether any stored color changed
+     */
+    boolean cascadeFrom(ColorSet input) {
+        boolean changed = cascade(input, CONTENT, -1, -1, -1);
+        changed |= cascade(input, STATUS_BAR, CONTENT, -1, -1);
+        changed |= cascade(input, NAV_BAR, NAV_BAR_LEFT, NAV_BAR_RIGHT, CONTENT);
+        changed |= cascade(input, NAV_BAR_LEFT, NAV_BAR_RIGHT, NAV_BAR, CONTENT);
+        changed |= cascade(input, NAV_BAR_RIGHT, NAV_BAR_LEFT, NAV_BAR, CONTENT);
+        changed |= cascade(input, CUTOUT, STATUS_BAR, CONTENT, -1);
+        return changed;
+    }
+
+    private boolean cascade(ColorSet input, int slot, int first, int second, int third) {
+        int source;
+        if (input.has(slot)) {
+            source = slot;
+        } else if (first >= 0 && input.has(first)) {
+            source = first;
+        } else if (second >= 0 && input.has(second)) {
+            source = second;
+        } else if (third >= 0 && input.has(third)) {
+            source = third;
+        } else {
+            return false;
+        }
+
+        int color = input.get(source);
+        if (has(slot) && values[slot] == color) return false;
+
+        set(slot, color);
+        return true;
+    }
+}
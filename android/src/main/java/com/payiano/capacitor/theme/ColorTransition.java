@@ -0,0 +1,175 @@
+package com.payiano.capacitor.theme;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ArgbEvaluator;
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.LinearInterpolator;
+
+/**
+ * Animates every rendered system UI color from a single {@link ValueAnimator}.
+ *
+ * Tracks the color currently on screen for each {@link RenderTargets render
+ * target} (decor background, window bar colors and the overlay strips). A transition
+ * interpolates all changed targets together with an {@link ArgbEvaluator} and
+ * pushes each frame to the {@link Renderer}, so no bridge traffic is needed
+ * while it runs. With a duration of 0 (the default) colors are applied
+ * immediately.
+ *
+ * All methods must be called on the main thread.
+ */
+final class ColorTransition {
+
+    /**
+     * Writes colors to the window and views.
+     */
+    interface Renderer {
+        void render(int[] colors, int mask);
+    }
+
+    private static final int COUNT = RenderTargets.COUNT;
+
+    private final Renderer renderer;
+    private final ArgbEvaluator evaluator = new ArgbEvaluator();
+    private final ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f);
+
+    private final int[] from = new int[COUNT];
+    private final int[] to = new int[COUNT];
+    private final int[] current = new int[COUNT];
+
+    /** Targets whose on-screen color is known */
+    private int knownMask = 0;
+
+    /** Targets driven by the running animation */
+    private int activeMask = 0;
+
+    private long duration = 0;
+
+    ColorTransition(Renderer renderer) {
+        this.renderer = renderer;
+        animator.addUpdateListener(this::onAnimationUpdate);
+        animator.addListener(
+            new AnimatorListenerAdapter() {
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    activeMask = 0;
+                }
+            }
+        );
+    }
+
+    /**
+     * Configure the transition.
+     *
+     * @param durationMs Duration in milliseconds (0 disables animation)
+     * @param interpolator Interpolator name, or null for the default
+     */
+    void configure(long durationMs, String interpolator) {
+        duration = Math.max(0, durationMs);
+        animator.setInterpolator(parseInterpolator(interpolator));
+    }
+
+    /**
+     * Move the given targets to new colors, animating when enabled.
+     *
+     * Targets whose current color is unknown (never rendered) are set directly.
+     */
+    void animateTo(int[] targets, int mask) {
+        int animated = mask & knownMask & ~unchanged(targets, mask);
+
+        if (duration <= 0 || animated == 0) {
+            jumpTo(targets, mask);
+            return;
+        }
+
+        // Restart from wherever the running animation currently is
+        int running = activeMask;
+        animator.cancel();
+
+        jumpTo(targets, mask & ~animated);
+
+        for (int i = 0; i < COUNT; i++) {
+            if ((animated & (1 << i)) != 0) {
+                from[i] = current[i];
+                to[i] = targets[i];
+            } else if ((running & (1 << i)) != 0) {
+                from[i] = current[i];
+            }
+        }
+
+        activeMask = running | animated;
+        animator.setDuration(duration);
+        animator.start();
+    }
+
+    /**
+     * Set the given targets immediately, retargeting them if they are animating.
+     */
+    void jumpTo(int[] targets, int mask) {
+        if (mask == 0) return;
+
+        for (int i = 0; i < COUNT; i++) {
+            if ((mask & (1 << i)) != 0) {
+                from[i] = targets[i];
+                to[i] = targets[i];
+                current[i] = targets[i];
+            }
+        }
+        knownMask |= mask;
+        renderer.render(current, mask);
+    }
+
+    /**
+     * Forget the on-screen color of the given targets (e.g. a new view was created).
+     */
+    void forget(int mask) {
+        knownMask &= ~mask;
+    }
+
+    void cancel() {
+        animator.cancel();
+    }
+
+    private int unchanged(int[] targets, int mask) {
+        int result = 0;
+        for (int i = 0; i < COUNT; i++) {
+            if ((mask & (1 << i)) != 0 && (activeMask & (1 << i)) == 0 && current[i] == targets[i]) {
+                result |= 1 << i;
+            }
+        }
+        return result;
+    }
+
+    private void onAnimationUpdate(ValueAnimator animation) {
+        float fraction = animation.getAnimatedFraction();
+
+        for (int i = 0; i < COUNT; i++) {
+            if ((activeMask & (1 << i)) != 0) {
+                current[i] = (int) evaluator.evaluate(fraction, from[i], to[i]);
+            }
+        }
+        renderer.render(current, activeMask);
+    }
+
+    private static TimeInterpolator parseInterpolator(String name) {
+        if (name == null) {
+            return new AccelerateDecelerateInterpolator();
+        }
+
+        switch (name) {
+            case "linear":
+                return new LinearInterpolator();
+            case "accelerate":
+                return new AccelerateInterpolator();
+            case "decelerate":
+                return new DecelerateInterpolator();
+            case "accelerateDecelerate":
+            default:
+                return new AccelerateDecelerateInterpolator();
+        }
+    }
+}
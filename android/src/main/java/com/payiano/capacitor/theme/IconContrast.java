@@ -0,0 +1,55 @@
+package com.payiano.capacitor.theme;
+
+/**
+ * Picks light or dark system bar icons for a background color.
+ *
+ * Uses the WCAG relative luminance of the color and chooses whichever icon
+ * color (black or white) has the higher contrast against it. Results are kept
+ * in a small direct-mapped cache keyed by the ARGB value, so re-applying a
+ * theme does no floating point work.
+ *
+ * Free of android.* types so it can be benchmarked on a plain JVM.
+ * Not thread-safe; used on the main thread only.
+ */
+final class IconContrast {
+
+    /** Luminance at which black and white icons have equal contrast */
+    private static final double THRESHOLD = Math.sqrt(1.05 * 0.05) - 0.05;
+
+    private static final int CACHE_SIZE = 32;
+
+    private final int[] cachedColors = new int[CACHE_SIZE];
+
+    /** 0 = empty, 1 = dark icons, 2 = light icons */
+    private final byte[] cachedResults = new byte[CACHE_SIZE];
+
+    /**
+     * Whether a background needs dark icons, i.e. the bar appearance should be "light".
+     */
+    boolean needsDarkIcons(int color) {
+        int index = (color ^ (color >>> 16)) & (CACHE_SIZE - 1);
+        if (cachedResults[index] != 0 && cachedColors[index] == color) {
+            return cachedResults[index] == 1;
+        }
+
+        boolean dark = luminance(color) > THRESHOLD;
+        cachedColors[index] = color;
+        cachedResults[index] = (byte) (dark ? 1 : 2);
+        return dark;
+    }
+
+    /**
+     * WCAG 2 relative luminance of an ARGB color (alpha ignored).
+     */
+    static double luminance(int color) {
+        double r = linearize((color >> 16) & 0xFF);
+        double g = linearize((color >> 8) & 0xFF);
+        double b = linearize(color & 0xFF);
+        return 0.2126 * r + 0.7152 * g + 0.0722 * b;
+    }
+
+    private static double linearize(int channel) {
+        double c = channel / 255.0;
+        return c <= 0.03928 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4);
+    }
+}
@@ -0,0 +1,39 @@
+package com.payiano.capacitor.theme;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Writes the getInfo payload for a {@link SystemUIState}.
+ *
+ * Depends only on org.json so it can be benchmarked on a plain JVM.
+ */
+final class InfoPayload {
+
+    private InfoPayload() {}
+
+    static void write(SystemUIState state, JSONObject result) throws JSONException {
+        // Inset values
+        result.put("statusBarHeight", state.statusBarHeight);
+        result.put("navigationBarHeight", state.navigationBarHeight);
+        result.put("leftInset", state.leftInset);
+        result.put("rightInset", state.rightInset);
+
+        // Cutout values
+        result.put("cutoutTop", state.cutoutTop);
+        result.put("cutoutLeft", state.cutoutLeft);
+        result.put("cutoutRight", state.cutoutRight);
+
+        // State
+        result.put("isEdgeToEdgeEnabled", state.isEdgeToEdgeEnabled);
+        result.put("isSafeAreaEnabled", state.isSafeAreaEnabled);
+        result.put("isStatusBarVisible", state.isStatusBarVisible);
+        result.put("isNavigationBarVisible", state.isNavigationBarVisible);
+
+        // Color scheme
+        result.put("colorScheme", state.colorScheme);
+
+        // Version of the state this payload reflects
+        result.put("generation", state.generation);
+    }
+}
@@ -0,0 +1,106 @@
+package com.payiano.capacitor.theme;
+
+import android.view.View;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsAnimationCompat;
+import androidx.core.view.WindowInsetsCompat;
+import java.util.List;
+
+/**
+ * Follows the keyboard (IME) inset frame by frame while it animates.
+ *
+ * The start and end of each animation, and the keyboard height on every
+ * frame in between, go to the {@link Listener} on the main thread, in sync
+ * with the system's own animation. Changes that happen without an animation
+ * arrive through the regular insets listener instead; {@link #isAnimating()}
+ * tells the two apart.
+ */
+final class KeyboardInsetsTracker extends WindowInsetsAnimationCompat.Callback {
+
+    /**
+     * Receives keyboard animation updates. Runs on the main thread.
+     */
+    interface Listener {
+        void onKeyboardAnimationStart(int targetHeight);
+
+        void onKeyboardAnimationProgress(int height);
+
+        void onKeyboardAnimationEnd(int height);
+    }
+
+    private static final int IME = WindowInsetsCompat.Type.ime();
+
+    private final Listener listener;
+
+    /** View the callback is installed on, for reading the end state */
+    private View view;
+
+    /** Number of running IME animations */
+    private int running = 0;
+
+    KeyboardInsetsTracker(Listener listener) {
+        super(DISPATCH_MODE_STOP);
+        this.listener = listener;
+    }
+
+    void attach(View view) {
+        this.view = view;
+        running = 0;
+        ViewCompat.setWindowInsetsAnimationCallback(view, this);
+    }
+
+    void detach() {
+        if (view != null) {
+            ViewCompat.setWindowInsetsAnimationCallback(view, null);
+        }
+        view = null;
+        running = 0;
+    }
+
+    boolean isAnimating() {
+        return running > 0;
+    }
+
+    @Override
+    public void onPrepare(WindowInsetsAnimationCompat animation) {
+        // Called before the end state is dispatched to the insets listener
+        if (isIme(animation)) {
+            running++;
+        }
+    }
+
+    @Override
+    public WindowInsetsAnimationCompat.BoundsCompat onStart(WindowInsetsAnimationCompat animation, WindowInsetsAnimationCompat.BoundsCompat bounds) {
+        if (isIme(animation)) {
+            listener.onKeyboardAnimationStart(readHeight());
+        }
+        return bounds;
+    }
+
+    @Override
+    public WindowInsetsCompat onProgress(WindowInsetsCompat insets, List<WindowInsetsAnimationCompat> runningAnimations) {
+        if (running > 0) {
+            listener.onKeyboardAnimationProgress(insets.getInsets(IME).bottom);
+        }
+        return insets;
+    }
+
+    @Override
+    public void onEnd(WindowInsetsAnimationCompat animation) {
+        if (isIme(animation) && running > 0 && --running == 0) {
+            listener.onKeyboardAnimationEnd(readHeight());
+        }
+    }
+
+    private static boolean isIme(WindowInsetsAnimationCompat animation) {
+        return (animation.getTypeMask() & IME) != 0;
+    }
+
+    /**
+     * Read the keyboard height the window is settling on.
+     */
+    private int readHeight() {
+        WindowInsetsCompat insets = view != null ? ViewCompat.getRootWindowInsets(view) : null;
+        return insets != null ? insets.getInsets(IME).bottom : 0;
+    }
+}
@@ -3,22 +3,36 @@ package com.payiano.capacitor.theme;
 import android.content.res.Configuration;
 import android.graphics.Color;
 import android.os.Build;
-import android.view.Gravity;
+import android.view.Choreographer;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.Window;
+import android.view.WindowInsets;
 import android.view.WindowManager;
-import android.widget.FrameLayout;
+import android.webkit.WebView;
 import androidx.core.graphics.Insets;
+import androidx.core.view.OnApplyWindowInsetsListener;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowCompat;
 import androidx.core.view.WindowInsetsCompat;
 import androidx.core.view.WindowInsetsControllerCompat;
+import com.getcapacitor.Bridge;
+import com.getcapacitor.BridgeWebViewClient;
+import com.getcapacitor.JSArray;
 import com.getcapacitor.JSObject;
+import com.getcapacitor.Logger;
 import com.getcapacitor.Plugin;
 import com.getcapacitor.PluginCall;
 import com.getcapacitor.PluginMethod;
+import com.getcapacitor.WebViewListener;
 import com.getcapacitor.annotation.CapacitorPlugin;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.json.JSONException;
+import org.json.JSONObject;
 
 /**
  * SystemUI - Capacitor plugin for native system UI control
@@ -45,74 +59,204 @@ public class NativeThemePlugin extends Plugin {
     /** Event name for color scheme changes */
     private static final String EVENT_COLOR_SCHEME_CHANGED = "colorSchemeChanged";
 
+    /** Event name for safe area inset changes */
+    private static final String EVENT_SAFE_AREA_CHANGED = "safeAreaChanged";
+
+    /** Event name for keyboard (IME) changes */
+    private static final String EVENT_KEYBOARD_CHANGED = "keyboardChanged";
+
+    /** Inset fields reported by the safeAreaChanged event, in emission order */
+    private static final String[] INSET_KEYS = {
+        "statusBarHeight",
+        "navigationBarHeight",
+        "leftInset",
+        "rightInset",
+        "cutoutTop",
+        "cutoutLeft",
+        "cutoutRight"
+    };
+
+    /** Bar style that derives the icon color from the bar's background color */
+    private static final String STYLE_AUTO = "auto";
+
+    /** Theme names under which the config's light/dark palettes are registered */
+    private static final String CONFIG_LIGHT_THEME = "light";
+    private static final String CONFIG_DARK_THEME = "dark";
+
+    /** Read-only operations supported by executeBatch() */
+    private static final String BATCH_GET_INFO = "getInfo";
+    private static final String BATCH_GET_COLOR_SCHEME = "getColorScheme";
+
     // ============================================
     // Configuration State
     // ============================================
 
-    /** Whether edge-to-edge mode is currently active */
-    private boolean isEdgeToEdgeEnabled = false;
+    /**
+     * Current state snapshot (edge-to-edge, visibility, insets, color scheme).
+     *
+     * Only written on the main thread, by publishing a modified copy; read
+     * lock-free from any thread.
+     */
+    private volatile SystemUIState state = SystemUIState.INITIAL;
 
-    /** Whether content should respect safe area insets */
-    private boolean isSafeAreaEnabled = true;
+    /** getInfo payload built for the latest state generation, reused until it changes */
+    private volatile CachedInfo cachedInfo = null;
 
-    /** Current visibility state of the status bar */
-    private boolean isStatusBarVisible = true;
+    // ============================================
+    // Color Configuration
+    // ============================================
 
-    /** Current visibility state of the navigation bar */
-    private boolean isNavigationBarVisible = true;
+    /** Resolved background colors for every UI area, as packed ARGB ints */
+    private final ColorSet colors = new ColorSet();
 
-    /** Current system color scheme */
-    private String currentColorScheme = "light";
+    /** Parsed color strings, shared by every call */
+    private final ColorCache colorCache = new ColorCache();
 
     // ============================================
-    // Inset Values (in pixels)
+    // Theme Registry
     // ============================================
 
-    private int statusBarHeight = 0;
-    private int navigationBarHeight = 0;
-    private int leftInset = 0;
-    private int rightInset = 0;
+    /** Precompiled palettes registered with registerTheme(), by name */
+    private final Map<String, ThemePalette> themes = new ConcurrentHashMap<>();
 
-    // Display cutout tracking
-    private int cutoutTop = 0;
-    private int cutoutLeft = 0;
-    private int cutoutRight = 0;
+    /** Theme applied automatically in light mode (null when not paired) */
+    private volatile String lightThemeName = null;
+
+    /** Theme applied automatically in dark mode (null when not paired) */
+    private volatile String darkThemeName = null;
+
+    /** Themes applied when the WebView navigates to a matching URL (null when none) */
+    private volatile RouteThemes routeThemes = null;
 
     // ============================================
-    // Color Configuration
+    // Persistence
+    // ============================================
+
+    /** Last applied theme, restored on cold start (main thread only) */
+    private ThemeStore themeStore;
+
+    /**
+     * Set when anything persistTheme() records changes (colors, bar styles,
+     * paired theme names or palettes, edge-to-edge, color scheme), so commits
+     * that change none of it skip serializing the store. Starts set so the
+     * first commit reconciles the store with the config.
+     */
+    private volatile boolean themeDirty = true;
+
+    /** Bar styles last applied, null until set, possibly 'auto' (main thread only) */
+    private String appliedStatusBarStyle = null;
+    private String appliedNavigationBarStyle = null;
+
+    // ============================================
+    // Overlay View for System Bar Colors
+    // ============================================
+
+    /** Paints the status bar, navigation bar and side strips in a single view; kept while detached */
+    private SystemBarOverlayView systemBarOverlay;
+
+    /** Whether the overlay is in use (edge-to-edge); it is only attached while it has something to paint */
+    private boolean overlayEnabled = false;
+
+    private static final int SYSTEM_BAR_OVERLAY_ID = View.generateViewId();
+
+    // ============================================
+    // Insets Listener
+    // ============================================
+
+    private static final int DISPLAY_CUTOUT = WindowInsetsCompat.Type.displayCutout();
+    private static final int SYSTEM_BARS_AND_CUTOUT = WindowInsetsCompat.Type.systemBars() | DISPLAY_CUTOUT;
+
+    /** Created once so re-enabling edge-to-edge does not allocate a new listener */
+    private final OnApplyWindowInsetsListener insetsListener = this::onApplyInsets;
+
+    /** Cached android.R.id.content view while the insets listener is installed */
+    private View contentView;
+
+    /** Forces the next dispatch through even if the insets are unchanged (fresh overlay/listener) */
+    private boolean insetsDirty = true;
+
+    /** Platform insets of the last dispatch whose keyboard height was read, for the allocation-free repeat check */
+    private WindowInsets lastWindowInsets;
+
+    // ============================================
+    // Safe Area Event
+    // ============================================
+
+    /** Inset values last reported to JS, indexed like INSET_KEYS */
+    private final int[] emittedInsets = new int[INSET_KEYS.length];
+
+    /** Current inset values, indexed like INSET_KEYS (scratch buffer) */
+    private final int[] currentInsets = new int[INSET_KEYS.length];
+
+    /** Whether a safeAreaChanged emission is already scheduled for the next frame */
+    private boolean safeAreaEventScheduled = false;
+
+    private final Choreographer.FrameCallback safeAreaEventCallback = frameTimeNanos -> publishInsets();
+
+    /** Builds the script that exposes the insets as CSS custom properties */
+    private final SafeAreaCss safeAreaCss = new SafeAreaCss();
+
     // ============================================
+    // Keyboard (IME)
+    // ============================================
+
+    private static final int IME = WindowInsetsCompat.Type.ime();
+
+    /** Follows keyboard animations frame by frame while edge-to-edge is active */
+    private final KeyboardInsetsTracker keyboardTracker = new KeyboardInsetsTracker(
+        new KeyboardInsetsTracker.Listener() {
+            @Override
+            public void onKeyboardAnimationStart(int targetHeight) {
+                notifyKeyboardChanged(targetHeight, true);
+            }
 
-    /** Background color for the main content area */
-    private Integer contentBackgroundColor = null;
+            @Override
+            public void onKeyboardAnimationProgress(int height) {
+                setKeyboardHeight(height);
+            }
+
+            @Override
+            public void onKeyboardAnimationEnd(int height) {
+                setKeyboardHeight(height);
+                notifyKeyboardChanged(height, false);
+            }
+        }
+    );
 
-    /** Background color for the status bar area */
-    private Integer statusBarBackgroundColor = null;
+    /** Current keyboard inset in pixels, animated (main thread only) */
+    private int keyboardHeight = 0;
+
+    /** Whether the content bottom padding follows the keyboard */
+    private volatile boolean keyboardAvoidance = false;
+
+    // ============================================
+    // Frame-Coalesced Transactions
+    // ============================================
 
-    /** Background color for the navigation bar area (bottom) */
-    private Integer navigationBarBackgroundColor = null;
+    /** Queues changes from plugin calls and applies them once per frame */
+    private final SystemUITransactionQueue transactions = new SystemUITransactionQueue(this::commitUpdates);
 
-    /** Background color for the left navigation bar area (landscape) */
-    private Integer navigationBarLeftBackgroundColor = null;
+    /** Last accepted call, for resolving identical repeats without queuing them */
+    private final CallFingerprint lastCall = new CallFingerprint();
 
-    /** Background color for the right navigation bar area (landscape) */
-    private Integer navigationBarRightBackgroundColor = null;
+    /** Skips window and view mutations whose value is already applied */
+    private final SystemUIApplier applier = new SystemUIApplier();
 
-    /** Background color for display cutout areas */
-    private Integer cutoutBackgroundColor = null;
+    /** Cached icon color decisions for 'auto' bar styles (main thread only) */
+    private final IconContrast iconContrast = new IconContrast();
 
     // ============================================
-    // Overlay Views for System Bar Colors
+    // Color Transitions
     // ============================================
 
-    private View statusBarOverlay;
-    private View navBarBottomOverlay;
-    private View navBarLeftOverlay;
-    private View navBarRightOverlay;
+    /** Animates rendered colors between themes (disabled by default) */
+    private final ColorTransition colorTransition = new ColorTransition(this::renderColors);
 
-    private static final int STATUS_BAR_OVERLAY_ID = View.generateViewId();
-    private static final int NAV_BAR_BOTTOM_OVERLAY_ID = View.generateViewId();
-    private static final int NAV_BAR_LEFT_OVERLAY_ID = View.generateViewId();
-    private static final int NAV_BAR_RIGHT_OVERLAY_ID = View.generateViewId();
+    /** Scratch buffer for resolved render colors (main thread only) */
+    private final int[] renderTargets = new int[RenderTargets.COUNT];
+
+    /** Status bar color driven by the WebView's scroll position, while attached */
+    private final ScrollLinkedColor scrollLinkedColor = new ScrollLinkedColor(color -> renderScrollLinkedColor());
 
     // ============================================
     // LIFECYCLE METHODS
@@ -122,7 +266,36 @@ public class NativeThemePlugin extends Plugin {
     public void load() {
         super.load();
         // Initialize color scheme on plugin load
-        currentColorScheme = getSystemColorScheme();
+        state = state.withColorScheme(getSystemColorScheme());
+
+        // Apply the configured theme, then the last persisted one, before the
+        // WebView draws its first frame
+        JSONObject config = getConfig().getConfigJSON();
+        themeStore = new ThemeStore(getContext(), config != null ? config.toString().hashCode() : 0);
+        List<SystemUIUpdate> startup = new ArrayList<>(3);
+        readConfiguredTheme(config, startup);
+        readPersistedTheme(startup);
+        if (!startup.isEmpty()) {
+            commitUpdates(startup);
+        }
+
+        // Re-publish the inset CSS properties for every new document
+        getBridge()
+            .addWebViewListener(
+                new WebViewListener() {
+                    @Override
+                    public void onPageStarted(WebView webView) {
+                        applyRouteTheme(webView.getUrl());
+                    }
+
+                    @Override
+                    public void onPageCommitVisible(WebView view, String url) {
+                        if (state.isEdgeToEdgeEnabled) {
+                            injectCssInsets();
+                        }
+                    }
+                }
+            );
     }
 
     @Override
@@ -131,12 +304,33 @@ public class NativeThemePlugin extends Plugin {
 
         // Check for color scheme changes
         String newColorScheme = getSystemColorScheme();
-        if (!newColorScheme.equals(currentColorScheme)) {
-            currentColorScheme = newColorScheme;
+        if (!newColorScheme.equals(state.colorScheme)) {
+            state = state.withColorScheme(newColorScheme);
+            themeDirty = true;
+
+            // Swap the paired theme natively before the first frame of the new configuration
+            ThemePalette theme = getColorSchemeTheme(newColorScheme);
+            if (theme != null) {
+                applyThemeNow(getWindow(), theme);
+            }
+
             notifyColorSchemeChanged(newColorScheme);
         }
     }
 
+    @Override
+    protected void handleOnResume() {
+        super.handleOnResume();
+        transactions.setFrameDriven(true);
+    }
+
+    @Override
+    protected void handleOnPause() {
+        super.handleOnPause();
+        // No vsync while paused; commit what is queued instead of waiting for a frame
+        transactions.setFrameDriven(false);
+    }
+
     // ============================================
     // PUBLIC API METHODS
     // ============================================
@@ -147,71 +341,28 @@ public class NativeThemePlugin extends Plugin {
      * This is the recommended method for most use cases as it allows you to
      * configure all aspects of the system UI at once, ensuring consistent behavior.
      *
+     * Like every setter, the changes are queued and applied together with any
+     * other calls received before the next frame, and the call resolves when
+     * that frame commits.
+     *
      * Options:
      * - edgeToEdge: Enable/disable edge-to-edge mode (content behind system bars)
      * - statusBarVisible: Show/hide the status bar
      * - navigationBarVisible: Show/hide the navigation bar
-     * - statusBarStyle: 'light' (dark icons) or 'dark' (light icons)
-     * - navigationBarStyle: 'light' (dark icons) or 'dark' (light icons)
-     * - contentBackgroundColor: Main app background color (hex string)
-     * - statusBarBackgroundColor: Status bar background (hex string)
-     * - navigationBarBackgroundColor: Navigation bar background (hex string)
-     * - navigationBarLeftBackgroundColor: Left bar background in landscape (hex string)
-     * - navigationBarRightBackgroundColor: Right bar background in landscape (hex string)
-     * - cutoutBackgroundColor: Display cutout area background (hex string)
+     * - statusBarStyle: 'light' (dark icons), 'dark' (light icons) or 'auto' (from the bar color)
+     * - navigationBarStyle: 'light' (dark icons), 'dark' (light icons) or 'auto' (from the bar color)
+     * - contentBackgroundColor: Main app background color (hex string or ARGB number)
+     * - statusBarBackgroundColor: Status bar background (hex string or ARGB number)
+     * - navigationBarBackgroundColor: Navigation bar background (hex string or ARGB number)
+     * - navigationBarLeftBackgroundColor: Left bar background in landscape (hex string or ARGB number)
+     * - navigationBarRightBackgroundColor: Right bar background in landscape (hex string or ARGB number)
+     * - cutoutBackgroundColor: Display cutout area background (hex string or ARGB number)
      *
      * @param call Plugin call containing configuration options
      */
     @PluginMethod
     public void configure(PluginCall call) {
-        // Get all configuration options
-        Boolean edgeToEdge = call.getBoolean("edgeToEdge");
-        Boolean statusBarVisible = call.getBoolean("statusBarVisible");
-        Boolean navigationBarVisible = call.getBoolean("navigationBarVisible");
-        String statusBarStyle = call.getString("statusBarStyle");
-        String navigationBarStyle = call.getString("navigationBarStyle");
-        String contentBg = call.getString("contentBackgroundColor");
-        String statusBarBg = call.getString("statusBarBackgroundColor");
-        String navigationBarBg = call.getString("navigationBarBackgroundColor");
-        String navigationBarLeftBg = call.getString("navigationBarLeftBackgroundColor");
-        String navigationBarRightBg = call.getString("navigationBarRightBackgroundColor");
-        String cutoutBg = call.getString("cutoutBackgroundColor");
-
-        runOnUI(
-            () -> {
-                try {
-                    Window window = getWindow();
-
-                    // Handle edge-to-edge mode
-                    if (edgeToEdge != null) {
-                        configureEdgeToEdge(window, edgeToEdge);
-                    }
-
-                    // Parse and store colors
-                    parseAndStoreColors(contentBg, statusBarBg, navigationBarBg, navigationBarLeftBg, navigationBarRightBg, cutoutBg);
-
-                    // Apply background colors
-                    applyBackgroundColors(window);
-
-                    // Handle visibility
-                    if (statusBarVisible != null) {
-                        setBarVisibility(window, true, statusBarVisible);
-                        isStatusBarVisible = statusBarVisible;
-                    }
-                    if (navigationBarVisible != null) {
-                        setBarVisibility(window, false, navigationBarVisible);
-                        isNavigationBarVisible = navigationBarVisible;
-                    }
-
-                    // Handle styles (icon colors)
-                    applyBarStyles(window, statusBarStyle, navigationBarStyle);
-
-                    call.resolve();
-                } catch (Exception e) {
-                    call.reject("Configuration failed: " + e.getMessage());
-                }
-            }
-        );
+        enqueueUpdate(call, "configure");
     }
 
     /**
@@ -227,24 +378,7 @@ public class NativeThemePlugin extends Plugin {
      */
     @PluginMethod
     public void setBackgroundColors(PluginCall call) {
-        String contentBg = call.getString("contentBackgroundColor");
-        String statusBarBg = call.getString("statusBarBackgroundColor");
-        String navigationBarBg = call.getString("navigationBarBackgroundColor");
-        String navigationBarLeftBg = call.getString("navigationBarLeftBackgroundColor");
-        String navigationBarRightBg = call.getString("navigationBarRightBackgroundColor");
-        String cutoutBg = call.getString("cutoutBackgroundColor");
-
-        runOnUI(
-            () -> {
-                try {
-                    parseAndStoreColors(contentBg, statusBarBg, navigationBarBg, navigationBarLeftBg, navigationBarRightBg, cutoutBg);
-                    applyBackgroundColors(getWindow());
-                    call.resolve();
-                } catch (Exception e) {
-                    call.reject("Failed to set colors: " + e.getMessage());
-                }
-            }
-        );
+        enqueueUpdate(call, "setBackgroundColors");
     }
 
     /**
@@ -253,24 +387,14 @@ public class NativeThemePlugin extends Plugin {
      * Styles:
      * - 'light': Dark icons/text (for light backgrounds)
      * - 'dark': Light icons/text (for dark backgrounds)
+     * - 'auto': Picked from the luminance of the bar's background color, and
+     *   re-evaluated natively whenever the colors change
      *
      * @param call Plugin call with style options
      */
     @PluginMethod
     public void setBarStyles(PluginCall call) {
-        String statusBarStyle = call.getString("statusBarStyle");
-        String navigationBarStyle = call.getString("navigationBarStyle");
-
-        runOnUI(
-            () -> {
-                try {
-                    applyBarStyles(getWindow(), statusBarStyle, navigationBarStyle);
-                    call.resolve();
-                } catch (Exception e) {
-                    call.reject("Failed to set styles: " + e.getMessage());
-                }
-            }
-        );
+        enqueueUpdate(call, "setBarStyles");
     }
 
     /**
@@ -282,19 +406,7 @@ public class NativeThemePlugin extends Plugin {
      */
     @PluginMethod
     public void setStatusBarVisibility(PluginCall call) {
-        boolean visible = call.getBoolean("visible", true);
-
-        runOnUI(
-            () -> {
-                try {
-                    isStatusBarVisible = visible;
-                    setBarVisibility(getWindow(), true, visible);
-                    call.resolve();
-                } catch (Exception e) {
-                    call.reject("Failed to set status bar visibility: " + e.getMessage());
-                }
-            }
-        );
+        enqueueUpdate(call, "setStatusBarVisibility");
     }
 
     /**
@@ -306,19 +418,7 @@ public class NativeThemePlugin extends Plugin {
      */
     @PluginMethod
     public void setNavigationBarVisibility(PluginCall call) {
-        boolean visible = call.getBoolean("visible", true);
-
-        runOnUI(
-            () -> {
-                try {
-                    isNavigationBarVisible = visible;
-                    setBarVisibility(getWindow(), false, visible);
-                    call.resolve();
-                } catch (Exception e) {
-                    call.reject("Failed to set navigation bar visibility: " + e.getMessage());
-                }
-            }
-        );
+        enqueueUpdate(call, "setNavigationBarVisibility");
     }
 
     /**
@@ -337,18 +437,300 @@ public class NativeThemePlugin extends Plugin {
      */
     @PluginMethod
     public void setEdgeToEdge(PluginCall call) {
-        boolean enabled = call.getBoolean("enabled", true);
+        enqueueUpdate(call, "setEdgeToEdge");
+    }
 
-        runOnUI(
-            () -> {
-                try {
-                    configureEdgeToEdge(getWindow(), enabled);
+    /**
+     * Register a named theme for later use with applyTheme().
+     *
+     * The palette's colors are parsed and cascaded once here, so switching
+     * themes later needs no parsing. Registering an existing name replaces it.
+     *
+     * Options:
+     * - name: Theme name
+     * - palette: Background colors (same keys as setBackgroundColors) plus
+     *   optional statusBarStyle / navigationBarStyle
+     *
+     * @param call Plugin call with 'name' and 'palette'
+     */
+    @PluginMethod
+    public void registerTheme(PluginCall call) {
+        boolean traced = SystemUITrace.begin("registerTheme");
+        try {
+            String name = call.getString("name");
+            JSObject palette = call.getObject("palette");
+
+            if (name == null || name.isEmpty()) {
+                call.reject("Theme name is required");
+                return;
+            }
+            if (palette == null) {
+                call.reject("Theme palette is required");
+                return;
+            }
+
+            try {
+                themes.put(name, parsePalette(palette));
+                // A repeated applyTheme() with this name may now mean different colors
+                lastCall.reset();
+                if (name.equals(lightThemeName) || name.equals(darkThemeName)) {
+                    themeDirty = true;
+                }
+                call.resolve();
+            } catch (IllegalArgumentException e) {
+                call.reject("Failed to register theme: " + e.getMessage());
+            }
+        } finally {
+            SystemUITrace.end(traced);
+        }
+    }
+
+    /**
+     * Apply a theme previously registered with registerTheme().
+     *
+     * @param call Plugin call with 'name'
+     */
+    @PluginMethod
+    public void applyTheme(PluginCall call) {
+        enqueueUpdate(call, "applyTheme");
+    }
+
+    /**
+     * Pair registered themes with the system color scheme.
+     *
+     * When the system switches between light and dark mode, the matching theme
+     * is applied natively before the new configuration is drawn, and only then
+     * is 'colorSchemeChanged' emitted. The theme matching the current scheme is
+     * applied right away. Omit both names to remove the pairing.
+     *
+     * Options:
+     * - light: Name of the theme to use in light mode
+     * - dark: Name of the theme to use in dark mode
+     *
+     * @param call Plugin call with 'light' and 'dark' theme names
+     */
+    @PluginMethod
+    public void setColorSchemeThemes(PluginCall call) {
+        boolean traced = SystemUITrace.begin("setColorSchemeThemes");
+        try {
+            String light = call.getString("light");
+            String dark = call.getString("dark");
+
+            if (light != null && !themes.containsKey(light)) {
+                call.reject("Unknown theme: " + light);
+                return;
+            }
+            if (dark != null && !themes.containsKey(dark)) {
+                call.reject("Unknown theme: " + dark);
+                return;
+            }
+
+            lightThemeName = light;
+            darkThemeName = dark;
+            themeDirty = true;
+
+            ThemePalette current = getColorSchemeTheme(state.colorScheme);
+            if (current == null) {
+                call.resolve();
+                return;
+            }
+
+            SystemUIUpdate update = new SystemUIUpdate(call, "Failed to apply theme: ");
+            current.applyTo(update);
+
+            lastCall.reset();
+            transactions.enqueue(update);
+        } finally {
+            SystemUITrace.end(traced);
+        }
+    }
+
+    /**
+     * Apply registered themes natively when the WebView navigates.
+     *
+     * Each rule maps a URL pattern to a registered theme name. When a page
+     * starts loading, the first rule matching its URL is applied before any of
+     * the page's JavaScript runs. Same-document navigations (history.pushState(),
+     * hash changes) are followed through {@link RouteWebViewClient}. The rules
+     * are also checked against the current URL right away. Omit the rules (or
+     * pass none) to remove them.
+     *
+     * Patterns starting with '/' match the URL path, others the whole URL;
+     * '*' matches any run of characters.
+     *
+     * @param call Plugin call with 'rules' array of { pattern, theme }
+     */
+    @PluginMethod
+    public void setRouteThemes(PluginCall call) {
+        boolean traced = SystemUITrace.begin("setRouteThemes");
+        try {
+            JSArray rules = call.getArray("rules");
+            int count = rules != null ? rules.length() : 0;
+            String[] patterns = new String[count];
+            String[] names = new String[count];
+
+            for (int i = 0; i < count; i++) {
+                JSONObject rule = rules.optJSONObject(i);
+                String pattern = rule != null ? rule.optString("pattern", "") : "";
+                String name = rule != null ? rule.optString("theme", "") : "";
+
+                if (pattern.isEmpty()) {
+                    call.reject("Route pattern is required");
+                    return;
+                }
+                if (!themes.containsKey(name)) {
+                    call.reject("Unknown theme: " + name);
+                    return;
+                }
+                patterns[i] = pattern;
+                names[i] = name;
+            }
+
+            RouteThemes compiled = new RouteThemes(patterns, names);
+            routeThemes = compiled.isEmpty() ? null : compiled;
+
+            runOnUI(
+                () -> {
+                    if (routeThemes != null) {
+                        installRouteWebViewClient();
+                    }
+                    WebView webView = getBridge().getWebView();
+                    if (webView != null) {
+                        applyRouteTheme(webView.getUrl());
+                    }
+                    call.resolve();
+                }
+            );
+        } finally {
+            SystemUITrace.end(traced);
+        }
+    }
+
+    /**
+     * Configure animated color transitions.
+     *
+     * When a duration is set, every background color change (overlays, the
+     * window background and, without edge-to-edge, the system bar colors) is
+     * animated natively with no bridge traffic during the animation.
+     *
+     * Options:
+     * - duration: Duration in milliseconds (0 disables animation, the default)
+     * - interpolator: 'linear', 'accelerate', 'decelerate' or 'accelerateDecelerate'
+     *
+     * @param call Plugin call with transition options
+     */
+    @PluginMethod
+    public void setColorTransition(PluginCall call) {
+        boolean traced = SystemUITrace.begin("setColorTransition");
+        try {
+            int duration = call.getInt("duration", 0);
+            String interpolator = call.getString("interpolator");
+
+            runOnUI(
+                () -> {
+                    colorTransition.configure(duration, interpolator);
+                    call.resolve();
+                }
+            );
+        } finally {
+            SystemUITrace.end(traced);
+        }
+    }
+
+    /**
+     * Make the content avoid the keyboard in edge-to-edge mode.
+     *
+     * When enabled, the content's bottom padding follows the keyboard inset
+     * natively, frame by frame with the keyboard animation, so the web layer
+     * does not need to track resize events. 'keyboardChanged' is emitted when a
+     * keyboard animation starts and ends either way.
+     *
+     * @param call Plugin call with 'enabled' boolean
+     */
+    @PluginMethod
+    public void setKeyboardAvoidance(PluginCall call) {
+        boolean traced = SystemUITrace.begin("setKeyboardAvoidance");
+        try {
+            keyboardAvoidance = call.getBoolean("enabled", false);
+
+            runOnUI(
+                () -> {
+                    updateContentPadding();
                     call.resolve();
-                } catch (Exception e) {
-                    call.reject("Failed to set edge-to-edge: " + e.getMessage());
                 }
+            );
+        } finally {
+            SystemUITrace.end(traced);
+        }
+    }
+
+    /**
+     * Link the status bar color to the WebView's scroll position.
+     *
+     * The color is interpolated natively from 'fromColor' to 'toColor' as the
+     * page scrolls from 'startOffset' to 'endOffset' (CSS pixels) and applied
+     * on every scroll frame, with no bridge traffic. It takes precedence over
+     * the status bar background color until disabled.
+     *
+     * Options:
+     * - enabled: Whether the link is active
+     * - fromColor / toColor: Colors at the start and end of the range (hex string or ARGB number)
+     * - startOffset: Scroll position where the transition starts (default 0)
+     * - endOffset: Scroll position where the transition ends
+     *
+     * @param call Plugin call with scroll link options
+     */
+    @PluginMethod
+    public void setScrollLinkedStatusBar(PluginCall call) {
+        boolean traced = SystemUITrace.begin("setScrollLinkedStatusBar");
+        try {
+            boolean enabled = call.getBoolean("enabled", false);
+            if (!enabled) {
+                runOnUI(
+                    () -> {
+                        detachScrollLinkedColor();
+                        call.resolve();
+                    }
+                );
+                return;
             }
-        );
+
+            int fromColor;
+            int toColor;
+            try {
+                fromColor = parseColorValue(call.getData().opt("fromColor"), "fromColor");
+                toColor = parseColorValue(call.getData().opt("toColor"), "toColor");
+            } catch (IllegalArgumentException e) {
+                call.reject("Failed to set scroll-linked status bar: " + e.getMessage());
+                return;
+            }
+
+            float density = getContext().getResources().getDisplayMetrics().density;
+            int startOffset = Math.round(call.getFloat("startOffset", 0f) * density);
+            Float end = call.getFloat("endOffset");
+            if (end == null) {
+                call.reject("Failed to set scroll-linked status bar: endOffset is required");
+                return;
+            }
+            int endOffset = Math.round(end * density);
+
+            runOnUI(
+                () -> {
+                    WebView webView = getBridge().getWebView();
+                    if (webView == null) {
+                        call.reject("Failed to set scroll-linked status bar: WebView not available");
+                        return;
+                    }
+
+                    scrollLinkedColor.configure(fromColor, toColor, startOffset, endOffset);
+                    scrollLinkedColor.attach(webView);
+                    renderScrollLinkedColor();
+                    call.resolve();
+                }
+            );
+        } finally {
+            SystemUITrace.end(traced);
+        }
     }
 
     /**
@@ -365,34 +747,22 @@ public class NativeThemePlugin extends Plugin {
      * - isStatusBarVisible: Current status bar visibility
      * - isNavigationBarVisible: Current navigation bar visibility
      * - colorScheme: Current system color scheme ('light' or 'dark')
+     * - generation: Version of the state the values reflect (unchanged = same values)
+     *
+     * All values come from one immutable state snapshot, read without locking
+     * or hopping to the UI thread, so they are always mutually consistent. The
+     * response object is built once per state generation and reused.
      *
      * @param call Plugin call
      */
     @PluginMethod
     public void getInfo(PluginCall call) {
-        JSObject result = new JSObject();
-
-        // Inset values
-        result.put("statusBarHeight", statusBarHeight);
-        result.put("navigationBarHeight", navigationBarHeight);
-        result.put("leftInset", leftInset);
-        result.put("rightInset", rightInset);
-
-        // Cutout values
-        result.put("cutoutTop", cutoutTop);
-        result.put("cutoutLeft", cutoutLeft);
-        result.put("cutoutRight", cutoutRight);
-
-        // State
-        result.put("isEdgeToEdgeEnabled", isEdgeToEdgeEnabled);
-        result.put("isSafeAreaEnabled", isSafeAreaEnabled);
-        result.put("isStatusBarVisible", isStatusBarVisible);
-        result.put("isNavigationBarVisible", isNavigationBarVisible);
-
-        // Color scheme
-        result.put("colorScheme", currentColorScheme);
-
-        call.resolve(result);
+        boolean traced = SystemUITrace.begin("getInfo");
+        try {
+            call.resolve(buildInfo());
+        } finally {
+            SystemUITrace.end(traced);
+        }
     }
 
     /**
@@ -405,54 +775,518 @@ public class NativeThemePlugin extends Plugin {
      */
     @PluginMethod
     public void getColorScheme(PluginCall call) {
-        JSObject result = new JSObject();
-        result.put("colorScheme", currentColorScheme);
-        call.resolve(result);
+        boolean traced = SystemUITrace.begin("getColorScheme");
+        try {
+            call.resolve(buildColorScheme());
+        } finally {
+            SystemUITrace.end(traced);
+        }
     }
 
-    // ============================================
-    // PRIVATE HELPER METHODS
-    // ============================================
-
-    private Window getWindow() {
-        return getActivity().getWindow();
-    }
+    /**
+     * Run several operations in a single bridge call.
+     *
+     * State-changing operations are applied together in one frame, in order,
+     * and queries (getInfo, getColorScheme) reflect the state after that frame.
+     * A failing operation does not prevent the others from running.
+     *
+     * Options:
+     * - operations: Array of { method, options } where method is one of
+     *   configure, setBackgroundColors, setBarStyles, setStatusBarVisibility,
+     *   setNavigationBarVisibility, setEdgeToEdge, applyTheme, getInfo, getColorScheme
+     *
+     * Returns:
+     * - results: One { method, success, error?, result? } entry per operation
+     *
+     * @param call Plugin call with 'operations'
+     */
+    @PluginMethod
+    public void executeBatch(PluginCall call) {
+        boolean traced = SystemUITrace.begin("executeBatch");
+        try {
+            JSArray operations = call.getArray("operations");
+            if (operations == null) {
+                call.reject("Operations are required");
+                return;
+            }
 
-    private WindowInsetsControllerCompat getInsetsController(Window window) {
-        return WindowCompat.getInsetsController(window, window.getDecorView());
-    }
+            int count = operations.length();
+            String[] methods = new String[count];
+            SystemUIUpdate[] updates = new SystemUIUpdate[count];
+            List<SystemUIUpdate> queued = new ArrayList<>(count + 1);
 
-    private void runOnUI(Runnable action) {
-        getActivity().runOnUiThread(action);
-    }
+            for (int i = 0; i < count; i++) {
+                JSObject operation = null;
+                try {
+                    operation = JSObject.fromJSONObject(operations.getJSONObject(i));
+                } catch (JSONException ignored) {
+                    // Reported as an unsupported operation below
+                }
 
-    private void configureEdgeToEdge(Window window, boolean enabled) {
-        isEdgeToEdgeEnabled = enabled;
+                String method = operation != null ? operation.getString("method", "") : "";
+                JSObject options = operation != null ? operation.getJSObject("options") : null;
+                methods[i] = method;
 
-        if (enabled) {
-            // Enable edge-to-edge layout
-            WindowCompat.setDecorFitsSystemWindows(window, false);
-            window.addFlags(WindowManager.LayoutParams.FLAG_DRAWS_SYSTEM_BAR_BACKGROUNDS);
+                if (BATCH_GET_INFO.equals(method) || BATCH_GET_COLOR_SCHEME.equals(method)) {
+                    continue;
+                }
 
-            // Disable contrast enforcement (Android 10+)
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
-                window.setStatusBarContrastEnforced(false);
-                window.setNavigationBarContrastEnforced(false);
+                updates[i] = createUpdate(method, options != null ? options : new JSObject(), null);
+                if (!updates[i].isSettled()) {
+                    queued.add(updates[i]);
+                }
             }
 
-            // Make system bars transparent
-            window.setStatusBarColor(Color.TRANSPARENT);
-            window.setNavigationBarColor(Color.TRANSPARENT);
+            SystemUIUpdate batch = new SystemUIUpdate(call, "Batch failed: ");
+            batch.result = () -> {
+                JSArray results = new JSArray();
+                for (int i = 0; i < count; i++) {
+                    JSObject entry = new JSObject();
+                    entry.put("method", methods[i]);
+
+                    if (BATCH_GET_INFO.equals(methods[i])) {
+                        entry.put("success", true);
+                        entry.put("result", buildInfo());
+                    } else if (BATCH_GET_COLOR_SCHEME.equals(methods[i])) {
+                        entry.put("success", true);
+                        entry.put("result", buildColorScheme());
+                    } else if (updates[i].getError() != null) {
+                        entry.put("success", false);
+                        entry.put("error", updates[i].getError());
+                    } else {
+                        entry.put("success", true);
+                        if (updates[i].isSuperseded()) {
+                            entry.put("superseded", true);
+                        }
+                    }
+                    results.put(entry);
+                }
 
-            // Setup overlays and insets
-            setupOverlayViews(window);
-            setupInsetsListener(window);
-        } else {
-            // Disable edge-to-edge
-            isSafeAreaEnabled = true;
-            WindowCompat.setDecorFitsSystemWindows(window, true);
+                JSObject result = new JSObject();
+                result.put("results", results);
+                return result;
+            };
+            queued.add(batch);
 
-            // Clean up
+            lastCall.reset();
+            transactions.enqueueAll(queued);
+        } finally {
+            SystemUITrace.end(traced);
+        }
+    }
+
+    /**
+     * Get runtime diagnostics for the plugin.
+     *
+     * Returns:
+     * - appliedMutations: Window/view mutations that were actually performed
+     * - skippedMutations: Mutations skipped because the value was already applied
+     *
+     * @param call Plugin call
+     */
+    @PluginMethod
+    public void getDiagnostics(PluginCall call) {
+        boolean traced = SystemUITrace.begin("getDiagnostics");
+        try {
+            JSObject result = new JSObject();
+            result.put("appliedMutations", applier.getAppliedMutations());
+            result.put("skippedMutations", applier.getSkippedMutations());
+            result.put("supersededCalls", transactions.getSupersededCount());
+            result.put("checkedCalls", lastCall.getChecked());
+            result.put("repeatedCalls", lastCall.getRepeats());
+            call.resolve(result);
+        } finally {
+            SystemUITrace.end(traced);
+        }
+    }
+
+    /**
+     * Enable or disable system trace sections and counters.
+     *
+     * When enabled, plugin methods, frame commits, edge-to-edge changes, inset
+     * dispatches and overlay updates appear as trace sections, the time each
+     * call spends queued appears as an async slice, and inset values and
+     * mutation counts appear as counters. Disabled by default.
+     *
+     * @param call Plugin call with 'enabled' boolean
+     */
+    @PluginMethod
+    public void setTracingEnabled(PluginCall call) {
+        SystemUITrace.setEnabled(call.getBoolean("enabled", false));
+        call.resolve();
+    }
+
+    // ============================================
+    // PRIVATE HELPER METHODS
+    // ============================================
+
+    private Window getWindow() {
+        return getActivity().getWindow();
+    }
+
+    private WindowInsetsControllerCompat getInsetsController(Window window) {
+        return WindowCompat.getInsetsController(window, window.getDecorView());
+    }
+
+    /**
+     * Run a change that does not go through the transaction queue on the main
+     * thread, tracing the wait for the main thread like a queued update.
+     */
+    private void runOnUI(Runnable action) {
+        int cookie = SystemUITrace.beginAsync(SystemUITrace.QUEUED);
+        getActivity()
+            .runOnUiThread(
+                () -> {
+                    SystemUITrace.endAsync(SystemUITrace.QUEUED, cookie);
+                    action.run();
+                }
+            );
+    }
+
+    /**
+     * Get the getInfo payload for the current state, building it only once per generation.
+     */
+    private JSObject buildInfo() {
+        SystemUIState state = this.state;
+        CachedInfo cached = cachedInfo;
+        if (cached != null && cached.generation == state.generation) {
+            return cached.payload;
+        }
+
+        JSObject payload = buildInfo(state);
+        cachedInfo = new CachedInfo(state.generation, payload);
+        return payload;
+    }
+
+    private JSObject buildInfo(SystemUIState state) {
+        JSObject result = new JSObject();
+        try {
+            InfoPayload.write(state, result);
+        } catch (JSONException e) {
+            // Only thrown for non-finite numbers, which are never written
+        }
+        return result;
+    }
+
+    private JSObject buildColorScheme() {
+        JSObject result = new JSObject();
+        result.put("colorScheme", state.colorScheme);
+        return result;
+    }
+
+    /**
+     * Queue the update for a state-changing method call, or reject the call if
+     * its options are invalid. A call identical to the last accepted one is
+     * resolved right away, since the state it asks for is already applied or
+     * queued.
+     */
+    private void enqueueUpdate(PluginCall call, String method) {
+        boolean traced = SystemUITrace.begin(method);
+        try {
+            if (lastCall.check(method, call.getData())) {
+                call.resolve();
+                return;
+            }
+
+            SystemUIUpdate update = createUpdate(method, call.getData(), call);
+            if (update.isSettled()) {
+                lastCall.reset();
+            } else {
+                transactions.enqueue(update);
+            }
+        } finally {
+            SystemUITrace.end(traced);
+        }
+    }
+
+    /**
+     * Read a state-changing method's options into an update on the plugin thread.
+     *
+     * Colors may be hex strings or packed ARGB numbers (which skip parsing).
+     * If the options are invalid the returned update is already rejected.
+     */
+    private SystemUIUpdate createUpdate(String method, JSObject options, PluginCall call) {
+        SystemUIUpdate update = new SystemUIUpdate(call, getErrorPrefix(method));
+
+        try {
+            switch (method) {
+                case "configure":
+                    update.edgeToEdge = options.getBool("edgeToEdge");
+                    update.statusBarVisible = options.getBool("statusBarVisible");
+                    update.navigationBarVisible = options.getBool("navigationBarVisible");
+                    update.statusBarStyle = options.getString("statusBarStyle");
+                    update.navigationBarStyle = options.getString("navigationBarStyle");
+                    update.colors = parseColors(options);
+                    break;
+                case "setBackgroundColors":
+                    update.colors = parseColors(options);
+                    break;
+                case "setBarStyles":
+                    update.statusBarStyle = options.getString("statusBarStyle");
+                    update.navigationBarStyle = options.getString("navigationBarStyle");
+                    break;
+                case "setStatusBarVisibility":
+                    update.statusBarVisible = options.getBoolean("visible", true);
+                    break;
+                case "setNavigationBarVisibility":
+                    update.navigationBarVisible = options.getBoolean("visible", true);
+                    break;
+                case "setEdgeToEdge":
+                    update.edgeToEdge = options.getBoolean("enabled", true);
+                    break;
+                case "applyTheme":
+                    String name = options.getString("name");
+                    ThemePalette theme = name != null ? themes.get(name) : null;
+                    if (theme == null) {
+                        throw new IllegalArgumentException("Unknown theme: " + name);
+                    }
+                    theme.applyTo(update);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported method: " + method);
+            }
+        } catch (IllegalArgumentException e) {
+            update.reject(e);
+        }
+
+        return update;
+    }
+
+    private String getErrorPrefix(String method) {
+        switch (method) {
+            case "configure":
+                return "Configuration failed: ";
+            case "setBackgroundColors":
+                return "Failed to set colors: ";
+            case "setBarStyles":
+                return "Failed to set styles: ";
+            case "setStatusBarVisibility":
+                return "Failed to set status bar visibility: ";
+            case "setNavigationBarVisibility":
+                return "Failed to set navigation bar visibility: ";
+            case "setEdgeToEdge":
+                return "Failed to set edge-to-edge: ";
+            case "applyTheme":
+                return "Failed to apply theme: ";
+            default:
+                return "Failed to run " + method + ": ";
+        }
+    }
+
+    private ColorSet parseColors(JSObject options) {
+        ColorSet parsed = new ColorSet();
+
+        for (int slot = 0; slot < ColorSet.COUNT; slot++) {
+            Object value = options.opt(ColorSet.KEYS[slot]);
+
+            if (value instanceof Number) {
+                // Accept 0xAARRGGBB values above Integer.MAX_VALUE
+                parsed.set(slot, (int) ((Number) value).longValue());
+            } else if (value instanceof String) {
+                if (isValidColor((String) value)) {
+                    parsed.set(slot, colorCache.parse((String) value));
+                }
+            } else if (value != null && value != JSObject.NULL) {
+                throw new IllegalArgumentException("Unsupported color value for " + ColorSet.KEYS[slot]);
+            }
+        }
+
+        return parsed;
+    }
+
+    /**
+     * Parse a single required color (hex string or ARGB number).
+     */
+    private int parseColorValue(Object value, String key) {
+        if (value instanceof Number) {
+            return (int) ((Number) value).longValue();
+        }
+        if (value instanceof String && isValidColor((String) value)) {
+            return colorCache.parse((String) value);
+        }
+        throw new IllegalArgumentException(key + " is required");
+    }
+
+    /**
+     * Get the theme paired with a color scheme, or null if none.
+     */
+    private ThemePalette getColorSchemeTheme(String colorScheme) {
+        String name = "dark".equals(colorScheme) ? darkThemeName : lightThemeName;
+        return name != null ? themes.get(name) : null;
+    }
+
+    /**
+     * Replace Capacitor's WebView client with one that also reports
+     * same-document navigations. Left alone if the app installed its own
+     * client, which would otherwise be lost. Main thread only.
+     */
+    private void installRouteWebViewClient() {
+        Bridge bridge = getBridge();
+        BridgeWebViewClient client = bridge.getWebViewClient();
+        if (client instanceof RouteWebViewClient) return;
+
+        if (client == null || client.getClass() != BridgeWebViewClient.class) {
+            Logger.warn(getLogTag(), "Custom WebView client installed, route themes only follow page loads");
+            return;
+        }
+        bridge.setWebViewClient(new RouteWebViewClient(bridge, this::applyRouteTheme));
+    }
+
+    /**
+     * Apply the theme of the first route rule matching a URL, if any. Main thread only.
+     */
+    private void applyRouteTheme(String url) {
+        RouteThemes rules = routeThemes;
+        if (rules == null) return;
+
+        String name = rules.match(url);
+        ThemePalette theme = name != null ? themes.get(name) : null;
+        if (theme == null) return;
+
+        boolean traced = SystemUITrace.begin("routeTheme");
+        try {
+            applyThemeNow(getWindow(), theme);
+        } finally {
+            SystemUITrace.end(traced);
+        }
+    }
+
+    /**
+     * Apply a theme immediately, bypassing the frame queue. Main thread only.
+     */
+    private void applyThemeNow(Window window, ThemePalette theme) {
+        lastCall.reset();
+        if (colors.cascadeFrom(theme.colors)) {
+            themeDirty = true;
+        }
+        applyBackgroundColors(window);
+        applyBarStyles(window, theme.statusBarStyle, theme.navigationBarStyle);
+        persistTheme();
+    }
+
+    private ThemePalette parsePalette(JSObject palette) {
+        return new ThemePalette(parseColors(palette), palette.getString("statusBarStyle"), palette.getString("navigationBarStyle"));
+    }
+
+    /**
+     * Fold every update queued for this frame into one desired state and apply it.
+     *
+     * Edge-to-edge, visibility and styles are last-writer-wins. Colors (already
+     * parsed on the plugin thread) are merged in arrival order so the cascade behaves exactly as if each call had been
+     * applied on its own, but the window and overlays are only touched once.
+     */
+    private void commitUpdates(List<SystemUIUpdate> updates) {
+        boolean traced = SystemUITrace.begin("commit");
+        try {
+            applyUpdates(updates);
+        } catch (RuntimeException e) {
+            // The accepted state was not applied; don't resolve repeats of it
+            lastCall.reset();
+            throw e;
+        } finally {
+            SystemUITrace.end(traced);
+        }
+    }
+
+    private void applyUpdates(List<SystemUIUpdate> updates) {
+        Boolean edgeToEdge = null;
+        Boolean statusBarVisible = null;
+        Boolean navigationBarVisible = null;
+        String statusBarStyle = null;
+        String navigationBarStyle = null;
+        boolean colorsChanged = false;
+
+        for (SystemUIUpdate update : updates) {
+            if (update.isSuperseded()) continue;
+
+            if (update.edgeToEdge != null) edgeToEdge = update.edgeToEdge;
+            if (update.statusBarVisible != null) statusBarVisible = update.statusBarVisible;
+            if (update.navigationBarVisible != null) navigationBarVisible = update.navigationBarVisible;
+            if (update.statusBarStyle != null) statusBarStyle = update.statusBarStyle;
+            if (update.navigationBarStyle != null) navigationBarStyle = update.navigationBarStyle;
+
+            if (update.colors != null) {
+                if (colors.cascadeFrom(update.colors)) {
+                    themeDirty = true;
+                }
+                colorsChanged = true;
+            }
+        }
+
+        Window window = getWindow();
+
+        // Handle edge-to-edge mode
+        if (edgeToEdge != null) {
+            configureEdgeToEdge(window, edgeToEdge);
+        }
+
+        // Apply background colors
+        if (colorsChanged) {
+            applyBackgroundColors(window);
+        }
+
+        // Handle visibility
+        if (statusBarVisible != null) {
+            setBarVisibility(window, true, statusBarVisible);
+        }
+        if (navigationBarVisible != null) {
+            setBarVisibility(window, false, navigationBarVisible);
+        }
+        if (statusBarVisible != null || navigationBarVisible != null) {
+            SystemUIState current = state;
+            state = current.withBarVisibility(
+                statusBarVisible != null ? statusBarVisible : current.isStatusBarVisible,
+                navigationBarVisible != null ? navigationBarVisible : current.isNavigationBarVisible
+            );
+        }
+
+        // Handle styles (icon colors)
+        applyBarStyles(window, statusBarStyle, navigationBarStyle);
+
+        persistTheme();
+        traceMutations();
+    }
+
+    private void configureEdgeToEdge(Window window, boolean enabled) {
+        boolean traced = SystemUITrace.begin("configureEdgeToEdge");
+        try {
+            configureEdgeToEdgeTraced(window, enabled);
+        } finally {
+            SystemUITrace.end(traced);
+        }
+    }
+
+    private void configureEdgeToEdgeTraced(Window window, boolean enabled) {
+        if (enabled != state.isEdgeToEdgeEnabled) {
+            themeDirty = true;
+        }
+
+        // Disabling edge-to-edge always restores safe area handling
+        state = state.withEdgeToEdge(enabled, enabled ? state.isSafeAreaEnabled : true);
+
+        if (enabled) {
+            // Enable edge-to-edge layout
+            applier.setDecorFitsSystemWindows(window, false);
+            applier.addWindowFlags(window, WindowManager.LayoutParams.FLAG_DRAWS_SYSTEM_BAR_BACKGROUNDS);
+
+            // Disable contrast enforcement (Android 10+)
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                applier.setBarContrastEnforced(window, false);
+            }
+
+            // Make system bars transparent
+            renderTargets[RenderTargets.STATUS_BAR] = Color.TRANSPARENT;
+            renderTargets[RenderTargets.NAVIGATION_BAR] = Color.TRANSPARENT;
+            colorTransition.jumpTo(renderTargets, RenderTargets.WINDOW_BARS_MASK);
+
+            // Setup overlays and insets
+            setupOverlayViews(window);
+            setupInsetsListener(window);
+        } else {
+            // Disable edge-to-edge
+            applier.setDecorFitsSystemWindows(window, true);
+
+            // Clean up
             removeOverlayViews(window);
             removeInsetsListener(window);
 
@@ -461,248 +1295,396 @@ public class NativeThemePlugin extends Plugin {
         }
     }
 
-    private void parseAndStoreColors(
-        String contentBg,
-        String statusBarBg,
-        String navigationBarBg,
-        String navigationBarLeftBg,
-        String navigationBarRightBg,
-        String cutoutBg
-    ) {
-        // Parse all colors first
-        Integer parsedContentBg = isValidColor(contentBg) ? Color.parseColor(contentBg) : null;
-        Integer parsedStatusBarBg = isValidColor(statusBarBg) ? Color.parseColor(statusBarBg) : null;
-        Integer parsedNavBarBg = isValidColor(navigationBarBg) ? Color.parseColor(navigationBarBg) : null;
-        Integer parsedNavBarLeftBg = isValidColor(navigationBarLeftBg) ? Color.parseColor(navigationBarLeftBg) : null;
-        Integer parsedNavBarRightBg = isValidColor(navigationBarRightBg) ? Color.parseColor(navigationBarRightBg) : null;
-        Integer parsedCutoutBg = isValidColor(cutoutBg) ? Color.parseColor(cutoutBg) : null;
-
-        // Update content background if provided
-        if (parsedContentBg != null) {
-            contentBackgroundColor = parsedContentBg;
-        }
-
-        // Status bar: use provided value, or cascade from content
-        if (parsedStatusBarBg != null) {
-            statusBarBackgroundColor = parsedStatusBarBg;
-        } else if (parsedContentBg != null) {
-            statusBarBackgroundColor = parsedContentBg;
-        }
-
-        // Navigation bar (bottom): use provided, or cascade from left/right -> content
-        if (parsedNavBarBg != null) {
-            navigationBarBackgroundColor = parsedNavBarBg;
-        } else if (parsedNavBarLeftBg != null) {
-            navigationBarBackgroundColor = parsedNavBarLeftBg;
-        } else if (parsedNavBarRightBg != null) {
-            navigationBarBackgroundColor = parsedNavBarRightBg;
-        } else if (parsedContentBg != null) {
-            navigationBarBackgroundColor = parsedContentBg;
-        }
-
-        // Navigation bar left: use provided, or cascade from right -> navBar -> content
-        if (parsedNavBarLeftBg != null) {
-            navigationBarLeftBackgroundColor = parsedNavBarLeftBg;
-        } else if (parsedNavBarRightBg != null) {
-            navigationBarLeftBackgroundColor = parsedNavBarRightBg;
-        } else if (parsedNavBarBg != null) {
-            navigationBarLeftBackgroundColor = parsedNavBarBg;
-        } else if (parsedContentBg != null) {
-            navigationBarLeftBackgroundColor = parsedContentBg;
-        }
-
-        // Navigation bar right: use provided, or cascade from left -> navBar -> content
-        if (parsedNavBarRightBg != null) {
-            navigationBarRightBackgroundColor = parsedNavBarRightBg;
-        } else if (parsedNavBarLeftBg != null) {
-            navigationBarRightBackgroundColor = parsedNavBarLeftBg;
-        } else if (parsedNavBarBg != null) {
-            navigationBarRightBackgroundColor = parsedNavBarBg;
-        } else if (parsedContentBg != null) {
-            navigationBarRightBackgroundColor = parsedContentBg;
-        }
-
-        // Cutout: use provided, or cascade from status bar -> content
-        if (parsedCutoutBg != null) {
-            cutoutBackgroundColor = parsedCutoutBg;
-        } else if (parsedStatusBarBg != null) {
-            cutoutBackgroundColor = parsedStatusBarBg;
-        } else if (parsedContentBg != null) {
-            cutoutBackgroundColor = parsedContentBg;
-        }
-    }
-
     private void applyBackgroundColors(Window window) {
         // Set main window/content background
-        if (contentBackgroundColor != null) {
-            window.getDecorView().setBackgroundColor(contentBackgroundColor);
-        }
+        int mask = RenderTargets.resolveDecor(colors, renderTargets);
 
-        if (isEdgeToEdgeEnabled) {
-            // Update overlay views with colors
-            updateOverlayColors();
-            updateOverlaySizes(window);
+        SystemUIState state = this.state;
+        if (state.isEdgeToEdgeEnabled) {
+            // Update overlay view with colors
+            updateOverlaySizes(state);
+            mask |= resolveOverlayColors(renderTargets);
         } else {
             // Use standard APIs
-            applyStandardBarColors(window);
+            mask |= resolveStandardBarColors(renderTargets);
         }
+
+        colorTransition.animateTo(renderTargets, mask);
     }
 
     private void applyStandardBarColors(Window window) {
-        if (statusBarBackgroundColor != null) {
-            window.setStatusBarColor(statusBarBackgroundColor);
+        colorTransition.jumpTo(renderTargets, resolveStandardBarColors(renderTargets));
+    }
+
+    private int resolveStandardBarColors(int[] targets) {
+        int mask = RenderTargets.resolveStandardBars(colors, targets);
+
+        if (scrollLinkedColor.isAttached()) {
+            targets[RenderTargets.STATUS_BAR] = scrollLinkedColor.getColor();
+            mask |= 1 << RenderTargets.STATUS_BAR;
         }
-        if (navigationBarBackgroundColor != null) {
-            window.setNavigationBarColor(navigationBarBackgroundColor);
+        return mask;
+    }
+
+    /**
+     * Write colors to the window and overlay. Called directly for immediate
+     * changes and once per animation frame during a transition.
+     */
+    private void renderColors(int[] targets, int mask) {
+        Window window = getWindow();
+
+        if ((mask & (1 << RenderTargets.DECOR)) != 0) {
+            applier.setDecorBackgroundColor(window, targets[RenderTargets.DECOR]);
+        }
+        if ((mask & (1 << RenderTargets.STATUS_BAR)) != 0) {
+            applier.setStatusBarColor(window, targets[RenderTargets.STATUS_BAR]);
+        }
+        if ((mask & (1 << RenderTargets.NAVIGATION_BAR)) != 0) {
+            applier.setNavigationBarColor(window, targets[RenderTargets.NAVIGATION_BAR]);
+        }
+        if ((mask & RenderTargets.OVERLAY_MASK) != 0) {
+            applier.setOverlayColors(
+                systemBarOverlay,
+                targets[RenderTargets.OVERLAY_TOP],
+                targets[RenderTargets.OVERLAY_BOTTOM],
+                targets[RenderTargets.OVERLAY_LEFT],
+                targets[RenderTargets.OVERLAY_RIGHT]
+            );
+            syncOverlayAttachment(window);
         }
     }
 
+    /**
+     * Apply bar styles. Runs after the colors in the same pass, so 'auto'
+     * styles, which follow the resolved bar colors, are re-evaluated on every
+     * color change even when no style was passed.
+     */
     private void applyBarStyles(Window window, String statusBarStyle, String navigationBarStyle) {
+        if (statusBarStyle != null && !statusBarStyle.equals(appliedStatusBarStyle)) {
+            appliedStatusBarStyle = statusBarStyle;
+            themeDirty = true;
+        }
+        if (navigationBarStyle != null && !navigationBarStyle.equals(appliedNavigationBarStyle)) {
+            appliedNavigationBarStyle = navigationBarStyle;
+            themeDirty = true;
+        }
+
+        boolean autoStatusBar = STYLE_AUTO.equalsIgnoreCase(appliedStatusBarStyle);
+        boolean autoNavigationBar = STYLE_AUTO.equalsIgnoreCase(appliedNavigationBarStyle);
+
+        if (statusBarStyle == null && navigationBarStyle == null && !autoStatusBar && !autoNavigationBar) return;
+
         WindowInsetsControllerCompat controller = getInsetsController(window);
 
-        if (statusBarStyle != null) {
+        if (autoStatusBar) {
+            int light = needsDarkIcons(ColorSet.STATUS_BAR);
+            if (light >= 0) {
+                applier.setAppearanceLightStatusBars(controller, light == 1);
+            }
+        } else if (statusBarStyle != null) {
             // 'light' = dark icons (for light backgrounds)
             // 'dark' = light icons (for dark backgrounds)
-            controller.setAppearanceLightStatusBars("light".equalsIgnoreCase(statusBarStyle));
+            applier.setAppearanceLightStatusBars(controller, "light".equalsIgnoreCase(statusBarStyle));
         }
 
-        if (navigationBarStyle != null) {
-            controller.setAppearanceLightNavigationBars("light".equalsIgnoreCase(navigationBarStyle));
+        if (autoNavigationBar) {
+            int light = needsDarkIcons(ColorSet.NAV_BAR);
+            if (light >= 0) {
+                applier.setAppearanceLightNavigationBars(controller, light == 1);
+            }
+        } else if (navigationBarStyle != null) {
+            applier.setAppearanceLightNavigationBars(controller, "light".equalsIgnoreCase(navigationBarStyle));
+        }
+    }
+
+    /**
+     * Decide the icon color for a bar from its resolved background. A mostly
+     * transparent bar shows the content behind it, so the content color is
+     * used instead. While a scroll-linked color is attached it is the status
+     * bar background.
+     *
+     * @return 1 for dark icons, 0 for light icons, -1 if the background is unknown
+     */
+    private int needsDarkIcons(int slot) {
+        int color = slot == ColorSet.STATUS_BAR && scrollLinkedColor.isAttached()
+            ? scrollLinkedColor.getColor()
+            : colors.get(slot, Color.TRANSPARENT);
+        if (Color.alpha(color) < 0x80) {
+            if (!colors.has(ColorSet.CONTENT)) return -1;
+            color = colors.get(ColorSet.CONTENT);
         }
+        return iconContrast.needsDarkIcons(color) ? 1 : 0;
     }
 
     private void setBarVisibility(Window window, boolean isStatusBar, boolean visible) {
         WindowInsetsControllerCompat controller = getInsetsController(window);
         int type = isStatusBar ? WindowInsetsCompat.Type.statusBars() : WindowInsetsCompat.Type.navigationBars();
 
-        if (visible) {
-            controller.show(type);
-        } else {
-            controller.hide(type);
-            controller.setSystemBarsBehavior(WindowInsetsControllerCompat.BEHAVIOR_SHOW_TRANSIENT_BARS_BY_SWIPE);
-        }
+        applier.setBarsVisible(controller, type, visible);
     }
 
     private boolean isValidColor(String color) {
         return color != null && !color.isEmpty();
     }
 
+    // ============================================
+    // STARTUP THEME AND PERSISTENCE
+    // ============================================
+
+    /**
+     * Read the initial theme from the plugin's block in the Capacitor config.
+     *
+     * The block takes the same options as configure(), plus optional 'light'
+     * and 'dark' palettes. The palettes are registered as the themes "light"
+     * and "dark" and paired with the color scheme, exactly as
+     * setColorSchemeThemes() would.
+     */
+    private void readConfiguredTheme(JSONObject json, List<SystemUIUpdate> updates) {
+        if (json == null || json.length() == 0) return;
+
+        JSObject config;
+        try {
+            config = JSObject.fromJSONObject(json);
+        } catch (JSONException e) {
+            Logger.warn(getLogTag(), "Ignoring invalid SystemUI config: " + e.getMessage());
+            return;
+        }
+
+        registerConfiguredTheme(config, CONFIG_LIGHT_THEME);
+        registerConfiguredTheme(config, CONFIG_DARK_THEME);
+
+        SystemUIUpdate update = createUpdate("configure", config, null);
+        if (update.isSettled()) {
+            Logger.warn(getLogTag(), "Ignoring invalid SystemUI config: " + update.getError());
+            return;
+        }
+        updates.add(update);
+
+        // The paired theme goes on top of the base colors
+        ThemePalette theme = getColorSchemeTheme(state.colorScheme);
+        if (theme != null) {
+            SystemUIUpdate themed = new SystemUIUpdate(null, "");
+            theme.applyTo(themed);
+            updates.add(themed);
+        }
+    }
+
+    private void registerConfiguredTheme(JSObject config, String name) {
+        JSObject palette = config.getJSObject(name);
+        if (palette == null) return;
+
+        try {
+            themes.put(name, parsePalette(palette));
+        } catch (IllegalArgumentException e) {
+            Logger.warn(getLogTag(), "Ignoring invalid SystemUI " + name + " palette: " + e.getMessage());
+            return;
+        }
+
+        if (CONFIG_DARK_THEME.equals(name)) {
+            darkThemeName = name;
+        } else {
+            lightThemeName = name;
+        }
+    }
+
+    /**
+     * Read the persisted theme for the current color scheme. Committed
+     * synchronously in load(), so the first frame already has the right colors
+     * and no relayout happens when the web app applies the same theme later.
+     *
+     * A persisted light/dark pairing is registered again so scheme changes
+     * before the web app boots still swap themes natively. Persisted values
+     * are newer than the config, so they take precedence; the store drops
+     * them once the config block changes, so they never mask an updated
+     * config.
+     */
+    private void readPersistedTheme(List<SystemUIUpdate> updates) {
+        if (!themeStore.read()) return;
+
+        for (int slot = ThemeStore.LIGHT; slot <= ThemeStore.DARK; slot++) {
+            ThemeStore.Entry entry = themeStore.getEntry(slot);
+            if (entry == null || entry.themeName.isEmpty()) continue;
+
+            themes.put(entry.themeName, entry.palette);
+            if (slot == ThemeStore.DARK) {
+                darkThemeName = entry.themeName;
+            } else {
+                lightThemeName = entry.themeName;
+            }
+        }
+
+        SystemUIUpdate update = new SystemUIUpdate(null, "");
+        if (themeStore.getEdgeToEdge() != ThemeStore.UNSET) {
+            update.edgeToEdge = themeStore.getEdgeToEdge() == 1;
+        }
+
+        ThemeStore.Entry entry = themeStore.getEntry(state.colorScheme);
+        if (entry != null) {
+            entry.palette.applyTo(update);
+        }
+
+        updates.add(update);
+    }
+
+    /**
+     * Record the theme now on screen (or the paired themes) for the next cold
+     * start. Does nothing unless something it records changed since the last
+     * time.
+     */
+    private void persistTheme() {
+        if (themeStore == null || !themeDirty) return;
+        themeDirty = false;
+
+        SystemUIState state = this.state;
+        int current = ThemeStore.slotFor(state.colorScheme);
+
+        for (int slot = ThemeStore.LIGHT; slot <= ThemeStore.DARK; slot++) {
+            String name = slot == ThemeStore.DARK ? darkThemeName : lightThemeName;
+            ThemePalette paired = name != null ? themes.get(name) : null;
+
+            if (paired != null) {
+                themeStore.setEntry(slot, name, paired);
+            } else if (slot == current && !colors.isEmpty()) {
+                themeStore.setEntry(slot, null, new ThemePalette(colors, appliedStatusBarStyle, appliedNavigationBarStyle));
+            }
+        }
+
+        if (state.isEdgeToEdgeEnabled || themeStore.getEdgeToEdge() != ThemeStore.UNSET) {
+            themeStore.setEdgeToEdge(state.isEdgeToEdgeEnabled);
+        }
+
+        themeStore.save();
+    }
+
     // ============================================
     // OVERLAY VIEW MANAGEMENT
     // ============================================
 
+    /**
+     * Enable the overlay. It is created once and attached on top of the decor
+     * view by {@link #syncOverlayAttachment(Window)} as soon as it has a
+     * visible strip to paint.
+     */
     private void setupOverlayViews(Window window) {
         ViewGroup decorView = (ViewGroup) window.getDecorView();
 
-        // Create overlay views
-        statusBarOverlay = createOverlayView(STATUS_BAR_OVERLAY_ID);
-        navBarBottomOverlay = createOverlayView(NAV_BAR_BOTTOM_OVERLAY_ID);
-        navBarLeftOverlay = createOverlayView(NAV_BAR_LEFT_OVERLAY_ID);
-        navBarRightOverlay = createOverlayView(NAV_BAR_RIGHT_OVERLAY_ID);
-
-        // Remove any existing overlays
-        removeViewById(decorView, STATUS_BAR_OVERLAY_ID);
-        removeViewById(decorView, NAV_BAR_BOTTOM_OVERLAY_ID);
-        removeViewById(decorView, NAV_BAR_LEFT_OVERLAY_ID);
-        removeViewById(decorView, NAV_BAR_RIGHT_OVERLAY_ID);
+        // Remove an overlay left over from another plugin instance
+        View existing = decorView.findViewById(SYSTEM_BAR_OVERLAY_ID);
+        if (existing != null && existing != systemBarOverlay) {
+            applier.removeView(decorView, existing);
+        }
 
-        // Add overlays to decor view
-        decorView.addView(statusBarOverlay);
-        decorView.addView(navBarBottomOverlay);
-        decorView.addView(navBarLeftOverlay);
-        decorView.addView(navBarRightOverlay);
+        if (systemBarOverlay == null) {
+            systemBarOverlay = new SystemBarOverlayView(getContext());
+            systemBarOverlay.setId(SYSTEM_BAR_OVERLAY_ID);
+        }
+        overlayEnabled = true;
+        colorTransition.forget(RenderTargets.OVERLAY_MASK);
+        syncOverlayAttachment(window);
     }
 
-    private View createOverlayView(int id) {
-        View view = new View(getContext());
-        view.setId(id);
-        view.setBackgroundColor(Color.TRANSPARENT);
-        return view;
+    /**
+     * Disable the overlay, detaching it but keeping the instance for reuse.
+     */
+    private void removeOverlayViews(Window window) {
+        overlayEnabled = false;
+        syncOverlayAttachment(window);
+        colorTransition.forget(RenderTargets.OVERLAY_MASK);
     }
 
-    private void removeOverlayViews(Window window) {
-        ViewGroup decorView = (ViewGroup) window.getDecorView();
+    /**
+     * Attach the overlay only while it is enabled and some edge has both an
+     * inset and a visible color; otherwise keep it out of the view tree so it
+     * costs nothing in measure, layout and hit testing. Runs after every
+     * overlay size or color change, so a transition that fades a strip out
+     * detaches the overlay on its last frame.
+     */
+    private void syncOverlayAttachment(Window window) {
+        SystemBarOverlayView overlay = systemBarOverlay;
+        if (overlay == null) return;
 
-        removeViewById(decorView, STATUS_BAR_OVERLAY_ID);
-        removeViewById(decorView, NAV_BAR_BOTTOM_OVERLAY_ID);
-        removeViewById(decorView, NAV_BAR_LEFT_OVERLAY_ID);
-        removeViewById(decorView, NAV_BAR_RIGHT_OVERLAY_ID);
+        boolean needed = overlayEnabled && overlay.hasVisibleStrip();
+        ViewGroup parent = (ViewGroup) overlay.getParent();
+        if (needed == (parent != null)) return;
 
-        statusBarOverlay = null;
-        navBarBottomOverlay = null;
-        navBarLeftOverlay = null;
-        navBarRightOverlay = null;
+        if (needed) {
+            applier.addView((ViewGroup) window.getDecorView(), overlay);
+        } else {
+            applier.removeView(parent, overlay);
+        }
     }
 
-    private void removeViewById(ViewGroup parent, int viewId) {
-        View view = parent.findViewById(viewId);
-        if (view != null) {
-            parent.removeView(view);
+    private void updateOverlaySizes(SystemUIState state) {
+        boolean traced = SystemUITrace.begin("updateOverlaySizes");
+        try {
+            applier.setOverlayInsets(systemBarOverlay, state.statusBarHeight, state.navigationBarHeight, state.leftInset, state.rightInset);
+            syncOverlayAttachment(getWindow());
+        } finally {
+            SystemUITrace.end(traced);
         }
     }
 
     private void updateOverlayColors() {
-        int effectiveCutoutColor = cutoutBackgroundColor != null
-            ? cutoutBackgroundColor
-            : (contentBackgroundColor != null ? contentBackgroundColor : Color.TRANSPARENT);
+        boolean traced = SystemUITrace.begin("updateOverlayColors");
+        try {
+            colorTransition.jumpTo(renderTargets, resolveOverlayColors(renderTargets));
+        } finally {
+            SystemUITrace.end(traced);
+        }
+    }
 
-        boolean hasLeftCutout = cutoutLeft > 0;
-        boolean hasRightCutout = cutoutRight > 0;
+    private int resolveOverlayColors(int[] targets) {
+        int mask = RenderTargets.resolveOverlay(colors, state, targets);
 
-        if (statusBarOverlay != null) {
-            statusBarOverlay.setBackgroundColor(statusBarBackgroundColor != null ? statusBarBackgroundColor : Color.TRANSPARENT);
+        if (scrollLinkedColor.isAttached()) {
+            targets[RenderTargets.OVERLAY_TOP] = scrollLinkedColor.getColor();
         }
+        return mask;
+    }
 
-        if (navBarBottomOverlay != null) {
-            navBarBottomOverlay.setBackgroundColor(navigationBarBackgroundColor != null ? navigationBarBackgroundColor : Color.TRANSPARENT);
-        }
+    // ============================================
+    // SCROLL-LINKED STATUS BAR
+    // ============================================
 
-        // Left bar: use cutout color if there's a cutout, otherwise use the left-specific color
-        if (navBarLeftOverlay != null) {
-            int leftColor;
-            if (hasLeftCutout) {
-                leftColor = effectiveCutoutColor;
-            } else if (navigationBarLeftBackgroundColor != null) {
-                leftColor = navigationBarLeftBackgroundColor;
-            } else if (navigationBarBackgroundColor != null) {
-                leftColor = navigationBarBackgroundColor;
-            } else {
-                leftColor = Color.TRANSPARENT;
-            }
-            navBarLeftOverlay.setBackgroundColor(leftColor);
-        }
-
-        // Right bar: use cutout color if there's a cutout, otherwise use the right-specific color
-        if (navBarRightOverlay != null) {
-            int rightColor;
-            if (hasRightCutout) {
-                rightColor = effectiveCutoutColor;
-            } else if (navigationBarRightBackgroundColor != null) {
-                rightColor = navigationBarRightBackgroundColor;
-            } else if (navigationBarBackgroundColor != null) {
-                rightColor = navigationBarBackgroundColor;
-            } else {
-                rightColor = Color.TRANSPARENT;
-            }
-            navBarRightOverlay.setBackgroundColor(rightColor);
-        }
+    /**
+     * Render the scroll-linked color to the status bar area: the overlay in
+     * edge-to-edge mode, the window status bar color otherwise. Called on
+     * every scroll frame that changes the color.
+     */
+    private void renderScrollLinkedColor() {
+        int target = state.isEdgeToEdgeEnabled ? RenderTargets.OVERLAY_TOP : RenderTargets.STATUS_BAR;
+        renderTargets[target] = scrollLinkedColor.getColor();
+        colorTransition.jumpTo(renderTargets, 1 << target);
+        updateAutoStatusBarStyle();
     }
 
-    private void updateOverlaySizes(Window window) {
-        setOverlayLayout(statusBarOverlay, FrameLayout.LayoutParams.MATCH_PARENT, statusBarHeight, Gravity.TOP);
-        setOverlayLayout(navBarBottomOverlay, FrameLayout.LayoutParams.MATCH_PARENT, navigationBarHeight, Gravity.BOTTOM);
-        setOverlayLayout(navBarLeftOverlay, leftInset, FrameLayout.LayoutParams.MATCH_PARENT, Gravity.LEFT);
-        setOverlayLayout(navBarRightOverlay, rightInset, FrameLayout.LayoutParams.MATCH_PARENT, Gravity.RIGHT);
+    /**
+     * Re-evaluate an 'auto' status bar style after the status bar color
+     * changed outside of a commit. The contrast decision is cached per color,
+     * and the insets controller is only created when the icons flip.
+     */
+    private void updateAutoStatusBarStyle() {
+        if (!STYLE_AUTO.equalsIgnoreCase(appliedStatusBarStyle)) return;
 
-        updateOverlayColors();
+        int light = needsDarkIcons(ColorSet.STATUS_BAR);
+        if (light >= 0 && !applier.isAppearanceLightStatusBars(light == 1)) {
+            applier.setAppearanceLightStatusBars(getInsetsController(getWindow()), light == 1);
+        }
     }
 
-    private void setOverlayLayout(View view, int width, int height, int gravity) {
-        if (view == null) return;
+    /**
+     * Stop following the scroll position and restore the regular status bar color.
+     */
+    private void detachScrollLinkedColor() {
+        if (!scrollLinkedColor.isAttached()) return;
 
-        FrameLayout.LayoutParams params = new FrameLayout.LayoutParams(width, height);
-        params.gravity = gravity;
-        view.setLayoutParams(params);
+        scrollLinkedColor.detach();
+        if (state.isEdgeToEdgeEnabled) {
+            updateOverlayColors();
+        } else {
+            applyStandardBarColors(getWindow());
+        }
+        updateAutoStatusBarStyle();
     }
 
     // ============================================
@@ -710,52 +1692,235 @@ public class NativeThemePlugin extends Plugin {
     // ============================================
 
     private void setupInsetsListener(Window window) {
-        View contentView = window.findViewById(android.R.id.content);
-
-        ViewCompat.setOnApplyWindowInsetsListener(
-            contentView,
-            (view, insets) -> {
-                Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars() | WindowInsetsCompat.Type.displayCutout());
-                Insets cutoutInsets = insets.getInsets(WindowInsetsCompat.Type.displayCutout());
-
-                // Store inset values
-                statusBarHeight = systemBars.top;
-                navigationBarHeight = systemBars.bottom;
-                leftInset = systemBars.left;
-                rightInset = systemBars.right;
-
-                // Track cutout separately
-                cutoutTop = cutoutInsets.top;
-                cutoutLeft = cutoutInsets.left;
-                cutoutRight = cutoutInsets.right;
-
-                // Update content padding and overlays
-                updateContentPadding(window);
-                updateOverlaySizes(window);
-
-                return WindowInsetsCompat.CONSUMED;
-            }
-        );
+        contentView = window.findViewById(android.R.id.content);
+        insetsDirty = true;
 
+        ViewCompat.setOnApplyWindowInsetsListener(contentView, insetsListener);
+        keyboardTracker.attach(contentView);
         ViewCompat.requestApplyInsets(contentView);
     }
 
     private void removeInsetsListener(Window window) {
-        View contentView = window.findViewById(android.R.id.content);
-        ViewCompat.setOnApplyWindowInsetsListener(contentView, null);
-        contentView.setPadding(0, 0, 0, 0);
+        View view = contentView != null ? contentView : window.findViewById(android.R.id.content);
+        ViewCompat.setOnApplyWindowInsetsListener(view, null);
+        keyboardTracker.detach();
+        applier.setContentPadding(view, 0, 0, 0, 0);
+        contentView = null;
+
+        // The window fits the content again, so the page must stop padding
+        publishInsets();
     }
 
-    private void updateContentPadding(Window window) {
-        View contentView = window.findViewById(android.R.id.content);
+    /**
+     * Hot path: runs on every inset dispatch (IME animations, rotations).
+     *
+     * A dispatch equal to the previous one returns before reading any inset
+     * type, since each read allocates. Otherwise uses only cached references
+     * and primitive fields, and returns early when none of the inset values
+     * changed since the previous dispatch.
+     */
+    WindowInsetsCompat onApplyInsets(View view, WindowInsetsCompat insets) {
+        boolean traced = SystemUITrace.begin("onApplyInsets");
+        try {
+            applyInsets(insets);
+        } finally {
+            SystemUITrace.end(traced);
+        }
+        return WindowInsetsCompat.CONSUMED;
+    }
+
+    private void applyInsets(WindowInsetsCompat insets) {
+        // WindowInsets.equals compares in place, unlike getInsets which allocates per read
+        WindowInsets platform = insets.toWindowInsets();
+        if (platform != null && platform.equals(lastWindowInsets) && !insetsDirty) {
+            return;
+        }
 
-        if (isSafeAreaEnabled) {
-            contentView.setPadding(leftInset, statusBarHeight, rightInset, navigationBarHeight);
+        // Keyboard changes that are not animated (animations report their own progress)
+        if (keyboardTracker.isAnimating()) {
+            lastWindowInsets = null;
         } else {
-            contentView.setPadding(0, 0, 0, 0);
+            lastWindowInsets = platform;
+            int ime = insets.getInsets(IME).bottom;
+            if (ime != keyboardHeight) {
+                setKeyboardHeight(ime);
+                notifyKeyboardChanged(ime, false);
+            }
+        }
+
+        Insets systemBars = insets.getInsets(SYSTEM_BARS_AND_CUTOUT);
+        Insets cutoutInsets = insets.getInsets(DISPLAY_CUTOUT);
+
+        SystemUIState current = state;
+        boolean unchanged = current.hasInsets(
+            systemBars.top,
+            systemBars.bottom,
+            systemBars.left,
+            systemBars.right,
+            cutoutInsets.top,
+            cutoutInsets.left,
+            cutoutInsets.right
+        );
+
+        if (unchanged && !insetsDirty) {
+            return;
+        }
+
+        insetsDirty = false;
+        applyChangedInsets(current, unchanged, systemBars, cutoutInsets);
+    }
+
+    private void applyChangedInsets(SystemUIState current, boolean unchanged, Insets systemBars, Insets cutoutInsets) {
+        // Publish inset values (cutout tracked separately)
+        if (!unchanged) {
+            current = current.withInsets(
+                systemBars.top,
+                systemBars.bottom,
+                systemBars.left,
+                systemBars.right,
+                cutoutInsets.top,
+                cutoutInsets.left,
+                cutoutInsets.right
+            );
+            state = current;
+            traceInsets();
+        }
+
+        // Update content padding and overlays
+        updateContentPadding();
+        updateOverlaySizes(current);
+        updateOverlayColors();
+
+        // Report to JS at most once per frame
+        if (!safeAreaEventScheduled) {
+            safeAreaEventScheduled = true;
+            Choreographer.getInstance().postFrameCallback(safeAreaEventCallback);
+        }
+    }
+
+    /**
+     * Publish inset changes to the web layer, at most once per frame.
+     *
+     * Emits 'safeAreaChanged' with only the inset values that changed since the
+     * last emission, and updates the CSS custom properties with a single
+     * evaluateJavascript call. Nothing is sent when no value changed.
+     */
+    private void publishInsets() {
+        safeAreaEventScheduled = false;
+
+        readCurrentInsets();
+
+        JSObject data = null;
+        for (int i = 0; i < INSET_KEYS.length; i++) {
+            if (currentInsets[i] != emittedInsets[i]) {
+                if (data == null) {
+                    data = new JSObject();
+                }
+                data.put(INSET_KEYS[i], currentInsets[i]);
+                emittedInsets[i] = currentInsets[i];
+            }
+        }
+
+        if (data != null) {
+            notifyListeners(EVENT_SAFE_AREA_CHANGED, data);
+            injectCssInsets();
+        }
+    }
+
+    private void traceInsets() {
+        if (!SystemUITrace.isEnabled()) return;
+
+        readCurrentInsets();
+        for (int i = 0; i < INSET_KEYS.length; i++) {
+            SystemUITrace.counter(INSET_KEYS[i], currentInsets[i]);
+        }
+    }
+
+    private void traceMutations() {
+        if (!SystemUITrace.isEnabled()) return;
+
+        SystemUITrace.counter("appliedMutations", applier.getAppliedMutations());
+        SystemUITrace.counter("skippedMutations", applier.getSkippedMutations());
+    }
+
+    /**
+     * Read the insets the page has to pad by: the state's insets in
+     * edge-to-edge mode, zero otherwise since the window fits the content.
+     */
+    private void readCurrentInsets() {
+        SystemUIState state = this.state;
+        if (!state.isEdgeToEdgeEnabled) {
+            Arrays.fill(currentInsets, 0);
+            return;
+        }
+        currentInsets[0] = state.statusBarHeight;
+        currentInsets[1] = state.navigationBarHeight;
+        currentInsets[2] = state.leftInset;
+        currentInsets[3] = state.rightInset;
+        currentInsets[4] = state.cutoutTop;
+        currentInsets[5] = state.cutoutLeft;
+        currentInsets[6] = state.cutoutRight;
+    }
+
+    /**
+     * Write the inset CSS custom properties onto the document root. Main thread only.
+     */
+    private void injectCssInsets() {
+        WebView webView = getBridge().getWebView();
+        if (webView == null) return;
+
+        readCurrentInsets();
+        float density = getContext().getResources().getDisplayMetrics().density;
+        webView.evaluateJavascript(safeAreaCss.build(currentInsets, density), null);
+    }
+
+    private void updateContentPadding() {
+        if (contentView == null) return;
+
+        SystemUIState state = this.state;
+        int keyboard = keyboardAvoidance ? keyboardHeight : 0;
+        if (state.isSafeAreaEnabled) {
+            applier.setContentPadding(
+                contentView,
+                state.leftInset,
+                state.statusBarHeight,
+                state.rightInset,
+                Math.max(state.navigationBarHeight, keyboard)
+            );
+        } else {
+            applier.setContentPadding(contentView, 0, 0, 0, keyboard);
         }
     }
 
+    // ============================================
+    // KEYBOARD (IME)
+    // ============================================
+
+    /**
+     * Set the current keyboard inset, moving the content padding along when
+     * keyboard avoidance is on. Called on every frame of a keyboard animation.
+     */
+    private void setKeyboardHeight(int height) {
+        if (height == keyboardHeight) return;
+        keyboardHeight = height;
+
+        if (keyboardAvoidance) {
+            updateContentPadding();
+        }
+    }
+
+    /**
+     * Emit 'keyboardChanged'. Sent when a keyboard animation starts (with the
+     * target height) and ends, never per frame.
+     */
+    private void notifyKeyboardChanged(int height, boolean animating) {
+        JSObject data = new JSObject();
+        data.put("visible", height > 0);
+        data.put("height", height);
+        data.put("animating", animating);
+        notifyListeners(EVENT_KEYBOARD_CHANGED, data);
+    }
+
     // ============================================
     // COLOR SCHEME (DARK MODE) HELPERS
     // ============================================
@@ -787,4 +1952,18 @@ public class NativeThemePlugin extends Plugin {
         data.put("colorScheme", colorScheme);
         notifyListeners(EVENT_COLOR_SCHEME_CHANGED, data);
     }
+
+    /**
+     * A getInfo payload and the state generation it was built from.
+     */
+    private static final class CachedInfo {
+
+        final long generation;
+        final JSObject payload;
+
+        CachedInfo(long generation, JSObject payload) {
+            this.generation = generation;
+            this.payload = payload;
+        }
+    }
 }
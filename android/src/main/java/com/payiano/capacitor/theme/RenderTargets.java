@@ -0,0 +1,84 @@
+package com.payiano.capacitor.theme;
+
+/**
+ * Render targets for system UI colors, and the rules that resolve each
+ * target's color from the stored {@link ColorSet}.
+ *
+ * Free of android.* types so the color pipeline can be benchmarked on a
+ * plain JVM (see android/benchmark).
+ */
+final class RenderTargets {
+
+    // Targets
+    static final int DECOR = 0;
+    static final int STATUS_BAR = 1;
+    static final int NAVIGATION_BAR = 2;
+    static final int OVERLAY_TOP = 3;
+    static final int OVERLAY_BOTTOM = 4;
+    static final int OVERLAY_LEFT = 5;
+    static final int OVERLAY_RIGHT = 6;
+    static final int COUNT = 7;
+
+    static final int WINDOW_BARS_MASK = (1 << STATUS_BAR) | (1 << NAVIGATION_BAR);
+    static final int OVERLAY_MASK = (1 << OVERLAY_TOP) | (1 << OVERLAY_BOTTOM) | (1 << OVERLAY_LEFT) | (1 << OVERLAY_RIGHT);
+
+    /** Same as android.graphics.Color.TRANSPARENT */
+    private static final int TRANSPARENT = 0;
+
+    private RenderTargets() {}
+
+    /**
+     * Resolve the decor background.
+     *
+     * @return Mask of the targets written
+     */
+    static int resolveDecor(ColorSet colors, int[] targets) {
+        if (!colors.has(ColorSet.CONTENT)) return 0;
+
+        targets[DECOR] = colors.get(ColorSet.CONTENT);
+        return 1 << DECOR;
+    }
+
+    /**
+     * Resolve the window status and navigation bar colors (standard mode).
+     *
+     * @return Mask of the targets written
+     */
+    static int resolveStandardBars(ColorSet colors, int[] targets) {
+        int mask = 0;
+        if (colors.has(ColorSet.STATUS_BAR)) {
+            targets[STATUS_BAR] = colors.get(ColorSet.STATUS_BAR);
+            mask |= 1 << STATUS_BAR;
+        }
+        if (colors.has(ColorSet.NAV_BAR)) {
+            targets[NAVIGATION_BAR] = colors.get(ColorSet.NAV_BAR);
+            mask |= 1 << NAVIGATION_BAR;
+        }
+        return mask;
+    }
+
+    /**
+     * Resolve the overlay strip colors (edge-to-edge mode). Side strips over a
+     * display cutout take the cutout color instead of the side bar color.
+     *
+     * @return Mask of the targets written (always the whole overlay)
+     */
+    static int resolveOverlay(ColorSet colors, SystemUIState state, int[] targets) {
+        int effectiveCutoutColor = colors.get(ColorSet.CUTOUT, colors.get(ColorSet.CONTENT, TRANSPARENT));
+        int navigationBarColor = colors.get(ColorSet.NAV_BAR, TRANSPARENT);
+
+        boolean hasLeftCutout = state.cutoutLeft > 0;
+        boolean hasRightCutout = state.cutoutRight > 0;
+
+        targets[OVERLAY_TOP] = colors.get(ColorSet.STATUS_BAR, TRANSPARENT);
+        targets[OVERLAY_BOTTOM] = navigationBarColor;
+
+        // Left bar: use cutout color if there's a cutout, otherwise use the left-specific color
+        targets[OVERLAY_LEFT] = hasLeftCutout ? effectiveCutoutColor : colors.get(ColorSet.NAV_BAR_LEFT, navigationBarColor);
+
+        // Right bar: use cutout color if there's a cutout, otherwise use the right-specific color
+        targets[OVERLAY_RIGHT] = hasRightCutout ? effectiveCutoutColor : colors.get(ColorSet.NAV_BAR_RIGHT, navigationBarColor);
+
+        return OVERLAY_MASK;
+    }
+}
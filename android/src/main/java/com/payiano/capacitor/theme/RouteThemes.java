@@ -0,0 +1,78 @@
+package com.payiano.capacitor.theme;
+
+import android.net.Uri;
+import java.util.regex.Pattern;
+
+/**
+ * Ordered URL pattern to theme name rules.
+ *
+ * A pattern starting with '/' is matched against the URL path, any other
+ * pattern against the whole URL. '*' matches any run of characters, everything
+ * else matches literally. The first matching rule wins.
+ *
+ * Immutable; patterns are compiled once when the rules are set.
+ */
+final class RouteThemes {
+
+    private final Pattern[] patterns;
+    private final boolean[] matchPath;
+    private final String[] themeNames;
+
+    RouteThemes(String[] patterns, String[] themeNames) {
+        this.patterns = new Pattern[patterns.length];
+        this.matchPath = new boolean[patterns.length];
+        this.themeNames = themeNames.clone();
+
+        for (int i = 0; i < patterns.length; i++) {
+            this.patterns[i] = compile(patterns[i]);
+            this.matchPath[i] = patterns[i].startsWith("/");
+        }
+    }
+
+    boolean isEmpty() {
+        return patterns.length == 0;
+    }
+
+    /**
+     * Get the theme name of the first rule matching a URL, or null if none.
+     */
+    String match(String url) {
+        if (url == null) return null;
+
+        String path = null;
+        for (int i = 0; i < patterns.length; i++) {
+            String subject = url;
+            if (matchPath[i]) {
+                if (path == null) {
+                    path = Uri.parse(url).getPath();
+                    if (path == null || path.isEmpty()) {
+                        path = "/";
+                    }
+                }
+                subject = path;
+            }
+
+            if (patterns[i].matcher(subject).matches()) {
+                return themeNames[i];
+            }
+        }
+        return null;
+    }
+
+    private static Pattern compile(String pattern) {
+        StringBuilder regex = new StringBuilder(pattern.length() + 16);
+        int start = 0;
+        int star;
+        while ((star = pattern.indexOf('*', start)) >= 0) {
+            if (star > start) {
+                regex.append(Pattern.quote(pattern.substring(start, star)));
+            }
+            regex.append(".*");
+            start = star + 1;
+        }
+        if (start < pattern.length()) {
+            regex.append(Pattern.quote(pattern.substring(start)));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,33 @@
+package com.payiano.capacitor.theme;
+
+import android.webkit.WebView;
+import com.getcapacitor.Bridge;
+import com.getcapacitor.BridgeWebViewClient;
+
+/**
+ * Capacitor's WebView client, additionally reporting every URL the WebView
+ * commits to its history, including same-document navigations
+ * (history.pushState(), hash changes) that never start a page load.
+ */
+final class RouteWebViewClient extends BridgeWebViewClient {
+
+    /**
+     * Receives the new URL. Runs on the main thread.
+     */
+    interface Listener {
+        void onRouteChanged(String url);
+    }
+
+    private final Listener listener;
+
+    RouteWebViewClient(Bridge bridge, Listener listener) {
+        super(bridge);
+        this.listener = listener;
+    }
+
+    @Override
+    public void doUpdateVisitedHistory(WebView view, String url, boolean isReload) {
+        super.doUpdateVisitedHistory(view, url, isReload);
+        listener.onRouteChanged(url);
+    }
+}
@@ -0,0 +1,56 @@
+package com.payiano.capacitor.theme;
+
+/**
+ * Builds the script that publishes the safe area insets as CSS custom
+ * properties on the document root:
+ *
+ * - --system-ui-inset-top / -bottom / -left / -right
+ * - --system-ui-cutout-top / -left / -right
+ *
+ * Values are converted from device pixels to CSS pixels natively, so the web
+ * layer can use them directly, e.g. padding-top: var(--system-ui-inset-top).
+ */
+final class SafeAreaCss {
+
+    /** CSS property names, indexed like the plugin's inset keys */
+    private static final String[] PROPERTIES = {
+        "--system-ui-inset-top",
+        "--system-ui-inset-bottom",
+        "--system-ui-inset-left",
+        "--system-ui-inset-right",
+        "--system-ui-cutout-top",
+        "--system-ui-cutout-left",
+        "--system-ui-cutout-right"
+    };
+
+    private final StringBuilder script = new StringBuilder(512);
+
+    /**
+     * Build a script setting every property.
+     *
+     * @param insets Inset values in device pixels, indexed like {@link #PROPERTIES}
+     * @param density Display density (device pixels per CSS pixel)
+     */
+    String build(int[] insets, float density) {
+        script.setLength(0);
+        script.append("(function(s){");
+        for (int i = 0; i < PROPERTIES.length; i++) {
+            script.append("s.setProperty('").append(PROPERTIES[i]).append("','");
+            appendCssPixels(insets[i], density);
+            script.append("');");
+        }
+        script.append("})(document.documentElement.style);");
+        return script.toString();
+    }
+
+    private void appendCssPixels(int devicePixels, float density) {
+        float cssPixels = density > 0 ? Math.round(devicePixels * 100f / density) / 100f : devicePixels;
+
+        if (cssPixels == (int) cssPixels) {
+            script.append((int) cssPixels);
+        } else {
+            script.append(cssPixels);
+        }
+        script.append("px");
+    }
+}
@@ -0,0 +1,117 @@
+package com.payiano.capacitor.theme;
+
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/**
+ * Derives a color from a view's vertical scroll position.
+ *
+ * Between the start and end offsets the color is interpolated from the
+ * "from" color to the "to" color; above and below the range it is clamped.
+ * The {@link Listener} is only called when the resulting color changes, so
+ * scrolling within the clamped regions costs a comparison per event.
+ *
+ * All methods must be called on the main thread.
+ */
+final class ScrollLinkedColor implements ViewTreeObserver.OnScrollChangedListener {
+
+    /**
+     * Receives the new color. Runs on the main thread.
+     */
+    interface Listener {
+        void onScrollColorChanged(int color);
+    }
+
+    private final Listener listener;
+
+    private View view;
+
+    private int fromColor;
+    private int toColor;
+    private int startOffset;
+    private int endOffset;
+
+    private int lastScrollY = Integer.MIN_VALUE;
+    private int color;
+
+    ScrollLinkedColor(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Set the colors and scroll range (in pixels) and recompute the color.
+     */
+    void configure(int fromColor, int toColor, int startOffset, int endOffset) {
+        this.fromColor = fromColor;
+        this.toColor = toColor;
+        this.startOffset = startOffset;
+        this.endOffset = Math.max(endOffset, startOffset + 1);
+
+        lastScrollY = Integer.MIN_VALUE;
+        color = fromColor;
+        if (view != null) {
+            onScrollChanged();
+        }
+    }
+
+    void attach(View view) {
+        if (this.view == view) return;
+
+        detach();
+        this.view = view;
+        view.getViewTreeObserver().addOnScrollChangedListener(this);
+        onScrollChanged();
+    }
+
+    void detach() {
+        if (view == null) return;
+
+        ViewTreeObserver observer = view.getViewTreeObserver();
+        if (observer.isAlive()) {
+            observer.removeOnScrollChangedListener(this);
+        }
+        view = null;
+        lastScrollY = Integer.MIN_VALUE;
+    }
+
+    boolean isAttached() {
+        return view != null;
+    }
+
+    /**
+     * Get the color for the current scroll position.
+     */
+    int getColor() {
+        return color;
+    }
+
+    @Override
+    public void onScrollChanged() {
+        int scrollY = view.getScrollY();
+        if (scrollY == lastScrollY) return;
+        lastScrollY = scrollY;
+
+        float fraction = (scrollY - startOffset) / (float) (endOffset - startOffset);
+        int next = blend(fromColor, toColor, Math.max(0f, Math.min(1f, fraction)));
+
+        if (next != color) {
+            color = next;
+            listener.onScrollColorChanged(next);
+        }
+    }
+
+    /**
+     * Interpolate each ARGB channel. Unlike ArgbEvaluator this does not box.
+     */
+    static int blend(int from, int to, float fraction) {
+        int a = blendChannel(from >>> 24, to >>> 24, fraction);
+        int r = blendChannel((from >> 16) & 0xFF, (to >> 16) & 0xFF, fraction);
+        int g = blendChannel((from >> 8) & 0xFF, (to >> 8) & 0xFF, fraction);
+        int b = blendChannel(from & 0xFF, to & 0xFF, fraction);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private static int blendChannel(int from, int to, float fraction) {
+        return from + Math.round((to - from) * fraction);
+    }
+}
@@ -0,0 +1,114 @@
+package com.payiano.capacitor.theme;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Single full-window overlay that paints the system bar backgrounds.
+ *
+ * Replaces one child view per edge: the status bar strip, the bottom
+ * navigation bar strip and the left/right strips (which also cover display
+ * cutouts in landscape) are drawn directly in {@link #onDraw(Canvas)} from the
+ * stored inset sizes. The view always matches its parent, so neither color
+ * nor inset changes ever require a layout pass - only {@link #invalidate()}.
+ *
+ * The view is only attached while {@link #hasVisibleStrip()}; otherwise it
+ * is kept detached so it takes no part in measure, layout or hit testing.
+ */
+final class SystemBarOverlayView extends View {
+
+    private final Paint paint = new Paint();
+
+    // Inset sizes (in pixels)
+    private int topInset = 0;
+    private int bottomInset = 0;
+    private int leftInset = 0;
+    private int rightInset = 0;
+
+    // Resolved strip colors
+    private int topColor = 0;
+    private int bottomColor = 0;
+    private int leftColor = 0;
+    private int rightColor = 0;
+
+    SystemBarOverlayView(Context context) {
+        super(context);
+        setWillNotDraw(false);
+        setClickable(false);
+        setFocusable(false);
+        setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO);
+        setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+    }
+
+    /**
+     * Update the strip sizes.
+     *
+     * @return true if anything changed and a redraw was requested
+     */
+    boolean setInsets(int top, int bottom, int left, int right) {
+        if (top == topInset && bottom == bottomInset && left == leftInset && right == rightInset) {
+            return false;
+        }
+        topInset = top;
+        bottomInset = bottom;
+        leftInset = left;
+        rightInset = right;
+        invalidate();
+        return true;
+    }
+
+    /**
+     * Update the strip colors.
+     *
+     * @return true if anything changed and a redraw was requested
+     */
+    boolean setColors(int top, int bottom, int left, int right) {
+        if (top == topColor && bottom == bottomColor && left == leftColor && right == rightColor) {
+            return false;
+        }
+        topColor = top;
+        bottomColor = bottom;
+        leftColor = left;
+        rightColor = right;
+        invalidate();
+        return true;
+    }
+
+    /**
+     * Whether any edge has both a non-zero inset and a non-transparent color.
+     */
+    boolean hasVisibleStrip() {
+        return (
+            isStripVisible(topInset, topColor) ||
+            isStripVisible(bottomInset, bottomColor) ||
+            isStripVisible(leftInset, leftColor) ||
+            isStripVisible(rightInset, rightColor)
+        );
+    }
+
+    private static boolean isStripVisible(int inset, int color) {
+        return inset > 0 && color >>> 24 != 0;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        int width = getWidth();
+        int height = getHeight();
+
+        // Same stacking order as the former per-edge views: side strips on top
+        drawStrip(canvas, topColor, 0, 0, width, topInset);
+        drawStrip(canvas, bottomColor, 0, height - bottomInset, width, height);
+        drawStrip(canvas, leftColor, 0, 0, leftInset, height);
+        drawStrip(canvas, rightColor, width - rightInset, 0, width, height);
+    }
+
+    private void drawStrip(Canvas canvas, int color, int left, int top, int right, int bottom) {
+        if (color >>> 24 == 0 || right <= left || bottom <= top) return;
+
+        paint.setColor(color);
+        canvas.drawRect(left, top, right, bottom, paint);
+    }
+}
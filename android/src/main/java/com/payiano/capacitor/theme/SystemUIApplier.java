@@ -0,0 +1,215 @@
+package com.payiano.capacitor.theme;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.Window;
+import androidx.core.view.WindowCompat;
+import androidx.core.view.WindowInsetsControllerCompat;
+
+/**
+ * Diff-based applier for window and view mutations.
+ *
+ * Remembers the last value written for every property the plugin controls
+ * and only forwards a mutation to the window or view when the value actually
+ * differs. Each request is counted as either applied or skipped so the
+ * effectiveness of the diffing can be inspected at runtime.
+ *
+ * Mutations that cannot be diffed (decor fitting, flags, the view tree, bar
+ * visibility) still go through here and are counted as applied, so every
+ * window and view write the plugin makes passes through this class.
+ *
+ * All methods must be called on the main thread.
+ */
+final class SystemUIApplier {
+
+    /** Marker for a property whose current value is not known */
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    // ============================================
+    // Last-Applied State
+    // ============================================
+
+    private long decorBackgroundColor = UNKNOWN;
+    private long statusBarColor = UNKNOWN;
+    private long navigationBarColor = UNKNOWN;
+    private long lightStatusBars = UNKNOWN;
+    private long lightNavigationBars = UNKNOWN;
+
+    private final long[] contentPadding = new long[4];
+
+    // ============================================
+    // Counters
+    // ============================================
+
+    private volatile long appliedMutations = 0;
+    private volatile long skippedMutations = 0;
+
+    SystemUIApplier() {
+        resetContentPadding();
+    }
+
+    // ============================================
+    // Window
+    // ============================================
+
+    void setDecorBackgroundColor(Window window, int color) {
+        if (changed(decorBackgroundColor, color)) {
+            decorBackgroundColor = color;
+            window.getDecorView().setBackgroundColor(color);
+        }
+    }
+
+    void setStatusBarColor(Window window, int color) {
+        if (changed(statusBarColor, color)) {
+            statusBarColor = color;
+            window.setStatusBarColor(color);
+        }
+    }
+
+    void setNavigationBarColor(Window window, int color) {
+        if (changed(navigationBarColor, color)) {
+            navigationBarColor = color;
+            window.setNavigationBarColor(color);
+        }
+    }
+
+    void setAppearanceLightStatusBars(WindowInsetsControllerCompat controller, boolean light) {
+        if (changed(lightStatusBars, light ? 1 : 0)) {
+            lightStatusBars = light ? 1 : 0;
+            controller.setAppearanceLightStatusBars(light);
+        }
+    }
+
+    /**
+     * Whether the status bar appearance is already applied, so a caller can
+     * skip creating an insets controller.
+     */
+    boolean isAppearanceLightStatusBars(boolean light) {
+        return lightStatusBars == (light ? 1 : 0);
+    }
+
+    void setAppearanceLightNavigationBars(WindowInsetsControllerCompat controller, boolean light) {
+        if (changed(lightNavigationBars, light ? 1 : 0)) {
+            lightNavigationBars = light ? 1 : 0;
+            controller.setAppearanceLightNavigationBars(light);
+        }
+    }
+
+    void setDecorFitsSystemWindows(Window window, boolean fits) {
+        apply();
+        WindowCompat.setDecorFitsSystemWindows(window, fits);
+    }
+
+    void addWindowFlags(Window window, int flags) {
+        apply();
+        window.addFlags(flags);
+    }
+
+    /**
+     * Requires Android 10 (API 29) or newer.
+     */
+    void setBarContrastEnforced(Window window, boolean enforced) {
+        apply();
+        window.setStatusBarContrastEnforced(enforced);
+        apply();
+        window.setNavigationBarContrastEnforced(enforced);
+    }
+
+    void setBarsVisible(WindowInsetsControllerCompat controller, int types, boolean visible) {
+        apply();
+        if (visible) {
+            controller.show(types);
+        } else {
+            controller.hide(types);
+            apply();
+            controller.setSystemBarsBehavior(WindowInsetsControllerCompat.BEHAVIOR_SHOW_TRANSIENT_BARS_BY_SWIPE);
+        }
+    }
+
+    // ============================================
+    // Overlays
+    // ============================================
+
+    /**
+     * Recolor the overlay strips. Only ever invalidates; never requests layout.
+     */
+    void setOverlayColors(SystemBarOverlayView overlay, int top, int bottom, int left, int right) {
+        if (overlay == null) return;
+
+        record(overlay.setColors(top, bottom, left, right));
+    }
+
+    /**
+     * Resize the overlay strips. Only ever invalidates; never requests layout.
+     */
+    void setOverlayInsets(SystemBarOverlayView overlay, int top, int bottom, int left, int right) {
+        if (overlay == null) return;
+
+        record(overlay.setInsets(top, bottom, left, right));
+    }
+
+    // ============================================
+    // Content and View Tree
+    // ============================================
+
+    void setContentPadding(View view, int left, int top, int right, int bottom) {
+        boolean differs =
+            contentPadding[0] != left || contentPadding[1] != top || contentPadding[2] != right || contentPadding[3] != bottom;
+
+        if (record(differs)) {
+            contentPadding[0] = left;
+            contentPadding[1] = top;
+            contentPadding[2] = right;
+            contentPadding[3] = bottom;
+            view.setPadding(left, top, right, bottom);
+        }
+    }
+
+    void addView(ViewGroup parent, View child) {
+        apply();
+        parent.addView(child);
+    }
+
+    void removeView(ViewGroup parent, View child) {
+        apply();
+        parent.removeView(child);
+    }
+
+    void resetContentPadding() {
+        for (int i = 0; i < contentPadding.length; i++) {
+            contentPadding[i] = UNKNOWN;
+        }
+    }
+
+    // ============================================
+    // Diagnostics
+    // ============================================
+
+    long getAppliedMutations() {
+        return appliedMutations;
+    }
+
+    long getSkippedMutations() {
+        return skippedMutations;
+    }
+
+    /**
+     * Compare a stored value with a requested one and count the outcome.
+     */
+    private boolean changed(long stored, int requested) {
+        return record(stored != requested);
+    }
+
+    private boolean record(boolean differs) {
+        if (differs) {
+            apply();
+        } else {
+            skippedMutations++;
+        }
+        return differs;
+    }
+
+    private void apply() {
+        appliedMutations++;
+    }
+}
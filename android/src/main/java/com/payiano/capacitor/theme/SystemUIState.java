@@ -0,0 +1,159 @@
+package com.payiano.capacitor.theme;
+
+/**
+ * Immutable snapshot of the plugin's system UI state.
+ *
+ * The plugin publishes the current snapshot through a single volatile
+ * reference. Writers (the main thread) never mutate a snapshot; they publish
+ * a modified copy with the next generation number. Readers on any thread,
+ * such as getInfo on the plugin thread, read one consistent snapshot without
+ * locking and without hopping to the main thread.
+ */
+final class SystemUIState {
+
+    /** State before anything has been configured */
+    static final SystemUIState INITIAL = new SystemUIState(0, 0, 0, 0, 0, 0, 0, 0, false, true, true, true, "light");
+
+    /** Monotonically increasing version of the state */
+    final long generation;
+
+    // Inset values (in pixels)
+    final int statusBarHeight;
+    final int navigationBarHeight;
+    final int leftInset;
+    final int rightInset;
+
+    // Display cutout
+    final int cutoutTop;
+    final int cutoutLeft;
+    final int cutoutRight;
+
+    /** Whether edge-to-edge mode is currently active */
+    final boolean isEdgeToEdgeEnabled;
+
+    /** Whether content should respect safe area insets */
+    final boolean isSafeAreaEnabled;
+
+    /** Current visibility state of the status bar */
+    final boolean isStatusBarVisible;
+
+    /** Current visibility state of the navigation bar */
+    final boolean isNavigationBarVisible;
+
+    /** Current system color scheme */
+    final String colorScheme;
+
+    private SystemUIState(
+        long generation,
+        int statusBarHeight,
+        int navigationBarHeight,
+        int leftInset,
+        int rightInset,
+        int cutoutTop,
+        int cutoutLeft,
+        int cutoutRight,
+        boolean isEdgeToEdgeEnabled,
+        boolean isSafeAreaEnabled,
+        boolean isStatusBarVisible,
+        boolean isNavigationBarVisible,
+        String colorScheme
+    ) {
+        this.generation = generation;
+        this.statusBarHeight = statusBarHeight;
+        this.navigationBarHeight = navigationBarHeight;
+        this.leftInset = leftInset;
+        this.rightInset = rightInset;
+        this.cutoutTop = cutoutTop;
+        this.cutoutLeft = cutoutLeft;
+        this.cutoutRight = cutoutRight;
+        this.isEdgeToEdgeEnabled = isEdgeToEdgeEnabled;
+        this.isSafeAreaEnabled = isSafeAreaEnabled;
+        this.isStatusBarVisible = isStatusBarVisible;
+        this.isNavigationBarVisible = isNavigationBarVisible;
+        this.colorScheme = colorScheme;
+    }
+
+    boolean hasInsets(int statusBar, int navigationBar, int left, int right, int cutoutTop, int cutoutLeft, int cutoutRight) {
+        return (
+            this.statusBarHeight == statusBar &&
+            this.navigationBarHeight == navigationBar &&
+            this.leftInset == left &&
+            this.rightInset == right &&
+            this.cutoutTop == cutoutTop &&
+            this.cutoutLeft == cutoutLeft &&
+            this.cutoutRight == cutoutRight
+        );
+    }
+
+    SystemUIState withInsets(int statusBar, int navigationBar, int left, int right, int cutoutTop, int cutoutLeft, int cutoutRight) {
+        return new SystemUIState(
+            generation + 1,
+            statusBar,
+            navigationBar,
+            left,
+            right,
+            cutoutTop,
+            cutoutLeft,
+            cutoutRight,
+            isEdgeToEdgeEnabled,
+            isSafeAreaEnabled,
+            isStatusBarVisible,
+            isNavigationBarVisible,
+            colorScheme
+        );
+    }
+
+    SystemUIState withEdgeToEdge(boolean edgeToEdge, boolean safeArea) {
+        return new SystemUIState(
+            generation + 1,
+            statusBarHeight,
+            navigationBarHeight,
+            leftInset,
+            rightInset,
+            cutoutTop,
+            cutoutLeft,
+            cutoutRight,
+            edgeToEdge,
+            safeArea,
+            isStatusBarVisible,
+            isNavigationBarVisible,
+            colorScheme
+        );
+    }
+
+    SystemUIState withBarVisibility(boolean statusBarVisible, boolean navigationBarVisible) {
+        return new SystemUIState(
+            generation + 1,
+            statusBarHeight,
+            navigationBarHeight,
+            leftInset,
+            rightInset,
+            cutoutTop,
+            cutoutLeft,
+            cutoutRight,
+            isEdgeToEdgeEnabled,
+            isSafeAreaEnabled,
+            statusBarVisible,
+            navigationBarVisible,
+            colorScheme
+        );
+    }
+
+    SystemUIState withColorScheme(String scheme) {
+        return new SystemUIState(
+            generation + 1,
+            statusBarHeight,
+            navigationBarHeight,
+            leftInset,
+            rightInset,
+            cutoutTop,
+            cutoutLeft,
+            cutoutRight,
+            isEdgeToEdgeEnabled,
+            isSafeAreaEnabled,
+            isStatusBarVisible,
+            isNavigationBarVisible,
+            scheme
+        );
+    }
+}
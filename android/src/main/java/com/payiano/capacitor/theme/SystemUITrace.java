@@ -0,0 +1,82 @@
+package com.payiano.capacitor.theme;
+
+import android.os.Build;
+import android.os.Trace;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * System trace instrumentation, visible in Perfetto / systrace.
+ *
+ * Disabled by default and switched at runtime with setTracingEnabled(). When
+ * disabled every method returns after a single volatile read; section names
+ * are only concatenated while tracing.
+ *
+ * Sections are balanced even if tracing is toggled in between: begin()
+ * reports whether it opened a section and end() takes that result.
+ * Async slices and counters require Android 10 (API 29) or newer and are
+ * skipped on older versions.
+ */
+final class SystemUITrace {
+
+    private static final String PREFIX = "SystemUI.";
+
+    /** Async slice from a call's arrival on the bridge to its commit on the main thread */
+    static final String QUEUED = "queued";
+
+    private static volatile boolean enabled = false;
+
+    private static final AtomicInteger nextCookie = new AtomicInteger(1);
+
+    private SystemUITrace() {}
+
+    static void setEnabled(boolean enabled) {
+        SystemUITrace.enabled = enabled;
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Open a section on the current thread.
+     *
+     * @return Whether a section was opened; pass it to {@link #end(boolean)}
+     */
+    static boolean begin(String name) {
+        if (!enabled) return false;
+
+        Trace.beginSection(PREFIX + name);
+        return true;
+    }
+
+    static void end(boolean begun) {
+        if (begun) {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * Open an async slice, which may end on another thread.
+     *
+     * @return Cookie identifying the slice, or 0 if none was opened
+     */
+    static int beginAsync(String name) {
+        if (!enabled || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) return 0;
+
+        int cookie = nextCookie.getAndIncrement();
+        Trace.beginAsyncSection(PREFIX + name, cookie);
+        return cookie;
+    }
+
+    static void endAsync(String name, int cookie) {
+        if (cookie == 0 || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) return;
+
+        Trace.endAsyncSection(PREFIX + name, cookie);
+    }
+
+    static void counter(String name, long value) {
+        if (!enabled || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) return;
+
+        Trace.setCounter(PREFIX + name, value);
+    }
+}
@@ -0,0 +1,177 @@
+package com.payiano.capacitor.theme;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Frame-coalesced transaction engine for system UI changes.
+ *
+ * Plugin methods enqueue {@link SystemUIUpdate}s from any thread. The queue
+ * schedules a single {@link Choreographer} frame callback on the main thread,
+ * hands every update queued before that frame to the {@link Committer} in
+ * arrival order, and then settles all of their plugin calls together. Bursts
+ * of calls fired during a page transition therefore cost one layout/draw pass
+ * instead of one per call.
+ *
+ * Within a frame the last writer wins: an update whose properties are all
+ * set again by newer updates is marked superseded before the commit, so the
+ * committer can skip it.
+ *
+ * No frames are drawn while the activity is paused (screen off, app in the
+ * background), so the owner switches the queue off frame pacing there: pending
+ * updates commit right away and later ones on a plain main thread post.
+ */
+final class SystemUITransactionQueue {
+
+    /**
+     * Applies a batch of updates to the window. Runs on the main thread.
+     */
+    interface Committer {
+        void commit(List<SystemUIUpdate> updates) throws Exception;
+    }
+
+    private final Committer committer;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Object lock = new Object();
+
+    /** Updates waiting for the next frame (guarded by {@link #lock}) */
+    private ArrayList<SystemUIUpdate> pending = new ArrayList<>();
+
+    /** Spare list swapped with {@link #pending} on every frame to avoid allocations */
+    private ArrayList<SystemUIUpdate> committing = new ArrayList<>();
+
+    /** Whether a frame callback is already scheduled (guarded by {@link #lock}) */
+    private boolean frameScheduled = false;
+
+    /** Whether commits wait for the next frame; false while the activity is paused */
+    private volatile boolean frameDriven = true;
+
+    /** Total updates superseded by newer ones */
+    private final AtomicLong supersededCount = new AtomicLong();
+
+    private final Choreographer.FrameCallback frameCallback = frameTimeNanos -> flush();
+
+    private final Runnable postFrameCallback = () -> Choreographer.getInstance().postFrameCallback(frameCallback);
+
+    private final Runnable flushCallback = this::flush;
+
+    SystemUITransactionQueue(Committer committer) {
+        this.committer = committer;
+    }
+
+    /**
+     * Queue an update for the next frame. Safe to call from any thread.
+     */
+    void enqueue(SystemUIUpdate update) {
+        boolean schedule;
+        synchronized (lock) {
+            pending.add(update);
+            schedule = !frameScheduled;
+            frameScheduled = true;
+        }
+        if (schedule) {
+            scheduleFrame();
+        }
+    }
+
+    /**
+     * Queue several updates atomically so they are guaranteed to commit in the same frame.
+     */
+    void enqueueAll(List<SystemUIUpdate> updates) {
+        boolean schedule;
+        synchronized (lock) {
+            pending.addAll(updates);
+            schedule = !frameScheduled;
+            frameScheduled = true;
+        }
+        if (schedule) {
+            scheduleFrame();
+        }
+    }
+
+    /**
+     * Switch frame pacing on or off. Switching it off commits the pending
+     * updates immediately, since their frame may never come. Main thread only.
+     */
+    void setFrameDriven(boolean frameDriven) {
+        if (this.frameDriven == frameDriven) return;
+        this.frameDriven = frameDriven;
+
+        if (!frameDriven) {
+            mainHandler.removeCallbacks(postFrameCallback);
+            Choreographer.getInstance().removeFrameCallback(frameCallback);
+            flush();
+        }
+    }
+
+    private void scheduleFrame() {
+        if (!frameDriven) {
+            mainHandler.post(flushCallback);
+        } else if (Looper.myLooper() == Looper.getMainLooper()) {
+            postFrameCallback.run();
+        } else {
+            mainHandler.post(postFrameCallback);
+        }
+    }
+
+    private void flush() {
+        ArrayList<SystemUIUpdate> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = committing;
+            committing = batch;
+            frameScheduled = false;
+        }
+        if (batch.isEmpty()) return;
+
+        for (SystemUIUpdate update : batch) {
+            update.endQueuedTrace();
+        }
+        markSuperseded(batch);
+
+        try {
+            committer.commit(batch);
+            for (SystemUIUpdate update : batch) {
+                update.resolve();
+            }
+        } catch (Exception e) {
+            for (SystemUIUpdate update : batch) {
+                update.reject(e);
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * Walk the batch from newest to oldest, marking every update whose
+     * properties are all covered by the updates after it.
+     */
+    private void markSuperseded(List<SystemUIUpdate> batch) {
+        int covered = 0;
+        int count = 0;
+
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            SystemUIUpdate update = batch.get(i);
+            int properties = update.getProperties();
+
+            if (properties != 0 && (properties & ~covered) == 0) {
+                update.supersede();
+                count++;
+            }
+            covered |= properties;
+        }
+
+        if (count > 0) {
+            supersededCount.addAndGet(count);
+        }
+    }
+
+    long getSupersededCount() {
+        return supersededCount.get();
+    }
+}
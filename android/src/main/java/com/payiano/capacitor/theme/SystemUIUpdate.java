@@ -0,0 +1,141 @@
+package com.payiano.capacitor.theme;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginCall;
+
+/**
+ * A pending system UI change queued by a single plugin call.
+ *
+ * Every field is optional: a null value means the originating call did not
+ * touch that property. Updates are folded in order into one desired-state
+ * snapshot by {@link SystemUITransactionQueue} and applied once per frame.
+ * An update whose properties are all overwritten by newer updates in the
+ * same frame is superseded: it is skipped and its call resolved with
+ * {@code superseded: true}.
+ */
+final class SystemUIUpdate {
+
+    // Property bits, see getProperties(); background color slots start at COLORS_SHIFT
+    static final int EDGE_TO_EDGE = 1;
+    static final int STATUS_BAR_VISIBLE = 1 << 1;
+    static final int NAVIGATION_BAR_VISIBLE = 1 << 2;
+    static final int STATUS_BAR_STYLE = 1 << 3;
+    static final int NAVIGATION_BAR_STYLE = 1 << 4;
+    static final int COLORS_SHIFT = 5;
+
+    /**
+     * Builds the resolve payload once the update has been committed.
+     */
+    interface ResultBuilder {
+        JSObject build();
+    }
+
+    /** The plugin call to settle when the update is committed (null for batched operations) */
+    final PluginCall call;
+
+    /** Prefix used for the rejection message if the update fails */
+    final String errorPrefix;
+
+    Boolean edgeToEdge;
+    Boolean statusBarVisible;
+    Boolean navigationBarVisible;
+    String statusBarStyle;
+    String navigationBarStyle;
+
+    /** Background colors provided by the call (pre-parsed), or null if the call sets none */
+    ColorSet colors;
+
+    /** Optional payload for the resolved call */
+    ResultBuilder result;
+
+    /** Whether the call has already been resolved or rejected */
+    private boolean settled = false;
+
+    /** Whether newer updates in the same frame overwrite every property of this one */
+    private boolean superseded = false;
+
+    /** Rejection message, kept for updates that have no call of their own */
+    private String error;
+
+    /** Async trace slice covering the time spent queued (0 when not traced) */
+    private int queuedTraceCookie;
+
+    SystemUIUpdate(PluginCall call, String errorPrefix) {
+        this.call = call;
+        this.errorPrefix = errorPrefix;
+        this.queuedTraceCookie = SystemUITrace.beginAsync(SystemUITrace.QUEUED);
+    }
+
+    /**
+     * Close the queueing trace slice: the update has reached the main thread
+     * or will never be queued.
+     */
+    void endQueuedTrace() {
+        SystemUITrace.endAsync(SystemUITrace.QUEUED, queuedTraceCookie);
+        queuedTraceCookie = 0;
+    }
+
+    /**
+     * Get the properties this update sets, as a bitmask of the property bits
+     * and the provided color slots shifted by {@link #COLORS_SHIFT}.
+     *
+     * Provided color slots are enough to compare updates: the areas a color
+     * set cascades into depend only on which slots it provides.
+     */
+    int getProperties() {
+        int properties = 0;
+        if (edgeToEdge != null) properties |= EDGE_TO_EDGE;
+        if (statusBarVisible != null) properties |= STATUS_BAR_VISIBLE;
+        if (navigationBarVisible != null) properties |= NAVIGATION_BAR_VISIBLE;
+        if (statusBarStyle != null) properties |= STATUS_BAR_STYLE;
+        if (navigationBarStyle != null) properties |= NAVIGATION_BAR_STYLE;
+        if (colors != null) properties |= colors.getMask() << COLORS_SHIFT;
+        return properties;
+    }
+
+    void supersede() {
+        superseded = true;
+    }
+
+    boolean isSuperseded() {
+        return superseded;
+    }
+
+    void resolve() {
+        if (settled) return;
+        settled = true;
+
+        if (call == null) return;
+        if (superseded) {
+            JSObject payload = new JSObject();
+            payload.put("superseded", true);
+            call.resolve(payload);
+        } else if (result != null) {
+            call.resolve(result.build());
+        } else {
+            call.resolve();
+        }
+    }
+
+    void reject(Exception e) {
+        if (settled) return;
+        settled = true;
+        error = errorPrefix + e.getMessage();
+        endQueuedTrace();
+
+        if (call != null) {
+            call.reject(error);
+        }
+    }
+
+    boolean isSettled() {
+        return settled;
+    }
+
+    /**
+     * Get the rejection message, or null if the update did not fail.
+     */
+    String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,37 @@
+package com.payiano.capacitor.theme;
+
+/**
+ * A named theme registered ahead of time.
+ *
+ * The colors are parsed and run through the cascade once at registration,
+ * so applying the theme later only copies a handful of ints.
+ */
+final class ThemePalette {
+
+    /** Fully cascaded colors */
+    final ColorSet colors;
+
+    /** Status bar style ('light' / 'dark'), or null to leave unchanged */
+    final String statusBarStyle;
+
+    /** Navigation bar style ('light' / 'dark'), or null to leave unchanged */
+    final String navigationBarStyle;
+
+    ThemePalette(ColorSet providedColors, String statusBarStyle, String navigationBarStyle) {
+        this.colors = new ColorSet();
+        this.colors.cascadeFrom(providedColors);
+        this.statusBarStyle = statusBarStyle;
+        this.navigationBarStyle = navigationBarStyle;
+    }
+
+    /**
+     * Copy this theme into an update.
+     *
+     * Cascading an already resolved set is a plain copy of its slots.
+     */
+    void applyTo(SystemUIUpdate update) {
+        update.colors = colors;
+        update.statusBarStyle = statusBarStyle;
+        update.navigationBarStyle = navigationBarStyle;
+    }
+}
@@ -0,0 +1,244 @@
+package com.payiano.capacitor.theme;
+
+import android.content.Context;
+import android.util.AtomicFile;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Persists the last applied theme so it can be restored on cold start,
+ * before the web app has booted.
+ *
+ * Keeps one entry per color scheme (resolved colors plus bar styles, and
+ * the theme name when the entry comes from a light/dark pairing) and the
+ * edge-to-edge mode, in a small binary file:
+ *
+ * - version (byte)
+ * - hash of the Capacitor config block the entries were saved under (int)
+ * - edge-to-edge (byte: -1 unset, 0 off, 1 on)
+ * - light entry, dark entry: present (boolean), theme name, color mask,
+ *   one int per color slot, status bar style, navigation bar style (UTF,
+ *   "" for none)
+ *
+ * Entries saved under a different config block are discarded on read, so a
+ * config change shipped in an app update is never masked by the state the
+ * previous version persisted.
+ *
+ * Reads are synchronous. Writes are serialized on the calling (main) thread,
+ * skipped when nothing changed, and written atomically on a background thread
+ * shared by all instances, so recreated activities do not add threads.
+ */
+final class ThemeStore {
+
+    static final int LIGHT = 0;
+    static final int DARK = 1;
+
+    static final byte UNSET = -1;
+
+    private static final String FILE_NAME = "system-ui-theme.bin";
+    private static final int VERSION = 2;
+
+    /** Single daemon thread for file writes, created on the first write */
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(
+        runnable -> {
+            Thread thread = new Thread(runnable, "SystemUI-ThemeStore");
+            thread.setDaemon(true);
+            return thread;
+        }
+    );
+
+    /**
+     * A persisted theme for one color scheme.
+     */
+    static final class Entry {
+
+        /** Name of the paired theme, or "" for the last applied colors */
+        final String themeName;
+
+        final ThemePalette palette;
+
+        Entry(String themeName, ThemePalette palette) {
+            this.themeName = themeName;
+            this.palette = palette;
+        }
+    }
+
+    private final AtomicFile file;
+
+    private final int configHash;
+
+    private final Entry[] entries = new Entry[2];
+
+    private byte edgeToEdge = UNSET;
+
+    /** Contents of the file as last read or written */
+    private byte[] stored;
+
+    /** Latest contents waiting to be written */
+    private final AtomicReference<byte[]> pending = new AtomicReference<>();
+
+    ThemeStore(Context context, int configHash) {
+        this.file = new AtomicFile(new File(context.getFilesDir(), FILE_NAME));
+        this.configHash = configHash;
+    }
+
+    static int slotFor(String colorScheme) {
+        return "dark".equals(colorScheme) ? DARK : LIGHT;
+    }
+
+    /**
+     * Load the persisted theme.
+     *
+     * @return Whether anything was restored; false if the file was saved
+     *         under a different config block
+     */
+    boolean read() {
+        byte[] bytes;
+        try {
+            bytes = file.readFully();
+        } catch (IOException e) {
+            return false;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != VERSION) return false;
+            if (in.readInt() != configHash) return false;
+
+            edgeToEdge = in.readByte();
+            for (int slot = LIGHT; slot <= DARK; slot++) {
+                entries[slot] = in.readBoolean() ? readEntry(in) : null;
+            }
+        } catch (IOException e) {
+            edgeToEdge = UNSET;
+            entries[LIGHT] = null;
+            entries[DARK] = null;
+            return false;
+        }
+
+        stored = bytes;
+        return true;
+    }
+
+    /**
+     * Get the entry for a color scheme, falling back to the other scheme's.
+     */
+    Entry getEntry(String colorScheme) {
+        int slot = slotFor(colorScheme);
+        return entries[slot] != null ? entries[slot] : entries[1 - slot];
+    }
+
+    Entry getEntry(int slot) {
+        return entries[slot];
+    }
+
+    void setEntry(int slot, String themeName, ThemePalette palette) {
+        entries[slot] = new Entry(themeName != null ? themeName : "", palette);
+    }
+
+    /**
+     * @return Persisted edge-to-edge mode: 1 on, 0 off, {@link #UNSET} if never set
+     */
+    byte getEdgeToEdge() {
+        return edgeToEdge;
+    }
+
+    void setEdgeToEdge(boolean enabled) {
+        edgeToEdge = (byte) (enabled ? 1 : 0);
+    }
+
+    /**
+     * Write the current entries if they differ from the file.
+     */
+    void save() {
+        byte[] bytes;
+        try {
+            bytes = serialize();
+        } catch (IOException e) {
+            return;
+        }
+
+        if (Arrays.equals(bytes, stored)) return;
+        stored = bytes;
+
+        if (pending.getAndSet(bytes) == null) {
+            WRITER.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        byte[] bytes = pending.getAndSet(null);
+        if (bytes == null) return;
+
+        FileOutputStream out = null;
+        try {
+            out = file.startWrite();
+            out.write(bytes);
+            file.finishWrite(out);
+        } catch (IOException e) {
+            if (out != null) {
+                file.failWrite(out);
+            }
+        }
+    }
+
+    private byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(VERSION);
+        out.writeInt(configHash);
+        out.writeByte(edgeToEdge);
+        for (int slot = LIGHT; slot <= DARK; slot++) {
+            Entry entry = entries[slot];
+            out.writeBoolean(entry != null);
+            if (entry != null) {
+                writeEntry(out, entry);
+            }
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeEntry(DataOutputStream out, Entry entry) throws IOException {
+        ColorSet colors = entry.palette.colors;
+
+        out.writeUTF(entry.themeName);
+        out.writeInt(colors.getMask());
+        for (int slot = 0; slot < ColorSet.COUNT; slot++) {
+            out.writeInt(colors.get(slot));
+        }
+        out.writeUTF(entry.palette.statusBarStyle != null ? entry.palette.statusBarStyle : "");
+        out.writeUTF(entry.palette.navigationBarStyle != null ? entry.palette.navigationBarStyle : "");
+    }
+
+    private static Entry readEntry(DataInputStream in) throws IOException {
+        String themeName = in.readUTF();
+        int mask = in.readInt();
+
+        ColorSet colors = new ColorSet();
+        for (int slot = 0; slot < ColorSet.COUNT; slot++) {
+            int color = in.readInt();
+            if ((mask & (1 << slot)) != 0) {
+                colors.set(slot, color);
+            }
+        }
+
+        String statusBarStyle = in.readUTF();
+        String navigationBarStyle = in.readUTF();
+
+        return new Entry(
+            themeName,
+            new ThemePalette(colors, statusBarStyle.isEmpty() ? null : statusBarStyle, navigationBarStyle.isEmpty() ? null : navigationBarStyle)
+        );
+    }
+}
@@ -0,0 +1,112 @@
+package com.payiano.capacitor.theme;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.getcapacitor.JSObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class CallFingerprintTest {
+
+    private final CallFingerprint fingerprint = new CallFingerprint();
+
+    @Test
+    public void identicalCallRepeatsTheLastOne() {
+        assertFalse(fingerprint.check("setBarStyles", styles("dark", "light")));
+        assertTrue(fingerprint.check("setBarStyles", styles("dark", "light")));
+
+        assertEquals(2, fingerprint.getChecked());
+        assertEquals(1, fingerprint.getRepeats());
+    }
+
+    @Test
+    public void differentValueIsAcceptedAndRemembered() {
+        fingerprint.check("setBarStyles", styles("dark", "light"));
+
+        assertFalse(fingerprint.check("setBarStyles", styles("light", "light")));
+        assertTrue(fingerprint.check("setBarStyles", styles("light", "light")));
+    }
+
+    @Test
+    public void keyOrderDoesNotMatter() {
+        JSObject first = new JSObject();
+        first.put("statusBarBackgroundColor", "#000000");
+        first.put("contentBackgroundColor", "#FFFFFF");
+        JSObject second = new JSObject();
+        second.put("contentBackgroundColor", "#FFFFFF");
+        second.put("statusBarBackgroundColor", "#000000");
+
+        fingerprint.check("setBackgroundColors", first);
+        assertTrue(fingerprint.check("setBackgroundColors", second));
+    }
+
+    @Test
+    public void numbersCompareByValue() {
+        JSObject integer = new JSObject();
+        integer.put("contentBackgroundColor", 0xFF1A1A2EL);
+        JSObject floating = new JSObject();
+        floating.put("contentBackgroundColor", (double) 0xFF1A1A2EL);
+
+        fingerprint.check("setBackgroundColors", integer);
+        assertTrue(fingerprint.check("setBackgroundColors", floating));
+    }
+
+    @Test
+    public void missingKeyEqualsNull() {
+        JSObject explicit = styles("dark", null);
+        explicit.put("navigationBarStyle", JSObject.NULL);
+        JSObject missing = new JSObject();
+        missing.put("statusBarStyle", "dark");
+
+        fingerprint.check("setBarStyles", explicit);
+        assertTrue(fingerprint.check("setBarStyles", missing));
+    }
+
+    @Test
+    public void keysOutsideTheMethodAreIgnored() {
+        JSObject extra = styles("dark", "light");
+        extra.put("unrelated", 1);
+
+        fingerprint.check("setBarStyles", styles("dark", "light"));
+        assertTrue(fingerprint.check("setBarStyles", extra));
+    }
+
+    @Test
+    public void sameOptionsForAnotherMethodAreNotARepeat() {
+        JSObject visible = new JSObject();
+        visible.put("visible", false);
+
+        fingerprint.check("setStatusBarVisibility", visible);
+        assertFalse(fingerprint.check("setNavigationBarVisibility", visible));
+    }
+
+    @Test
+    public void resetForgetsTheLastCall() {
+        fingerprint.check("setBarStyles", styles("dark", "light"));
+        fingerprint.reset();
+
+        assertFalse(fingerprint.check("setBarStyles", styles("dark", "light")));
+    }
+
+    @Test
+    public void untrackedMethodForgetsTheLastCall() {
+        fingerprint.check("setBarStyles", styles("dark", "light"));
+
+        assertFalse(fingerprint.check("setColorTransition", new JSObject()));
+        assertFalse(fingerprint.check("setBarStyles", styles("dark", "light")));
+        assertEquals(2, fingerprint.getChecked());
+    }
+
+    private static JSObject styles(String statusBar, String navigationBar) {
+        JSObject options = new JSObject();
+        options.put("statusBarStyle", statusBar);
+        if (navigationBar != null) {
+            options.put("navigationBarStyle", navigationBar);
+        }
+        return options;
+    }
+}
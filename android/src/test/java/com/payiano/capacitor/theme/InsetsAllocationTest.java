@@ -0,0 +1,58 @@
+package com.payiano.capacitor.theme;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import android.view.View;
+import androidx.core.view.WindowInsetsCompat;
+import com.getcapacitor.JSObject;
+import java.lang.management.ManagementFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * The insets listener runs on every frame of a keyboard animation and on
+ * every relayout; in steady state it must not allocate.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class InsetsAllocationTest {
+
+    private static final int WARM_UP = 1_000;
+    private static final int DISPATCHES = 10_000;
+
+    @Test
+    public void identicalDispatchesDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        long thread = Thread.currentThread().getId();
+
+        PluginHarness harness = new PluginHarness();
+        JSObject options = new JSObject();
+        options.put("enabled", true);
+        harness.plugin.setEdgeToEdge(harness.call("setEdgeToEdge", options));
+        harness.settle();
+
+        // Distinct instances with equal values, as the view root dispatches them
+        WindowInsetsCompat[] dispatches = new WindowInsetsCompat[WARM_UP + DISPATCHES];
+        for (int i = 0; i < dispatches.length; i++) {
+            dispatches[i] = PluginHarness.systemBarInsets(63, 126);
+        }
+        NativeThemePlugin plugin = harness.plugin;
+        View contentView = harness.contentView();
+
+        // The first dispatch applies the values; the rest load classes and link call sites
+        for (int i = 0; i < WARM_UP; i++) {
+            plugin.onApplyInsets(contentView, dispatches[i]);
+        }
+        threads.getThreadAllocatedBytes(thread);
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = WARM_UP; i < dispatches.length; i++) {
+            plugin.onApplyInsets(contentView, dispatches[i]);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertEquals("bytes allocated by " + DISPATCHES + " identical dispatches", 0, allocated);
+    }
+}
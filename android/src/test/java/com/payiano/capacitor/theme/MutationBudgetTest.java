@@ -0,0 +1,206 @@
+package com.payiano.capacitor.theme;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.view.View;
+import android.view.ViewGroup;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginCall;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Layout, redraw and window update budgets per operation.
+ *
+ * Each test settles the plugin into a state, clears the counters, runs one
+ * operation and checks what it cost on the decor view, the content view and
+ * the system bar overlay. A change that makes an operation exceed its budget
+ * fails the build instead of logging at runtime.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MutationBudgetTest {
+
+    // Budgets, as the most layout passes and window attribute changes allowed
+    private static final int EDGE_TO_EDGE_LAYOUT_PASSES = 2;
+    private static final int EDGE_TO_EDGE_WINDOW_CHANGES = 1;
+    private static final int INSETS_LAYOUT_PASSES = 1;
+
+    private static final int STATUS_BAR_HEIGHT = 63;
+    private static final int NAVIGATION_BAR_HEIGHT = 126;
+
+    private PluginHarness harness;
+
+    @Before
+    public void setUp() {
+        harness = new PluginHarness();
+    }
+
+    @Test
+    public void configureEnablingEdgeToEdgeStaysWithinBudget() {
+        JSObject options = colors("#FF2196F3", "#FF000000");
+        options.put("edgeToEdge", true);
+        options.put("statusBarStyle", "dark");
+
+        startOperation();
+        PluginCall call = run("configure", options);
+
+        harness.assertResolved(call);
+        assertAtMost("configure layout passes", EDGE_TO_EDGE_LAYOUT_PASSES, harness.takeLayoutPasses());
+        assertAtMost("configure window changes", EDGE_TO_EDGE_WINDOW_CHANGES, harness.takeWindowAttributeChanges());
+    }
+
+    @Test
+    public void setBackgroundColorsOnlyRedrawsInSteadyState() {
+        enterEdgeToEdgeWithColors();
+        SystemBarOverlayView overlay = harness.overlay();
+        assertNotNull("overlay attached", overlay);
+        ViewGroup.LayoutParams params = overlay.getLayoutParams();
+
+        startOperation();
+        PluginCall call = run("setBackgroundColors", colors("#FFFF5722", "#FF212121"));
+
+        harness.assertResolved(call);
+        assertEquals("setBackgroundColors layout passes", 0, harness.takeLayoutPasses());
+        assertEquals("setBackgroundColors window changes", 0, harness.takeWindowAttributeChanges());
+        assertFalse("decor requested layout", shadowOf(harness.decorView()).didRequestLayout());
+        assertFalse("content requested layout", shadowOf(harness.contentView()).didRequestLayout());
+        assertFalse("overlay requested layout", shadowOf(overlay).didRequestLayout());
+        assertSame("overlay layout params replaced", params, overlay.getLayoutParams());
+        assertTrue("overlay redrawn", shadowOf(overlay).wasInvalidated());
+    }
+
+    @Test
+    public void changedInsetsPadContentWithoutRelayingOutOverlay() {
+        enterEdgeToEdgeWithColors();
+        SystemBarOverlayView overlay = harness.overlay();
+        assertNotNull("overlay attached", overlay);
+        ViewGroup.LayoutParams params = overlay.getLayoutParams();
+
+        startOperation();
+        harness.dispatchInsets(STATUS_BAR_HEIGHT + 21, NAVIGATION_BAR_HEIGHT);
+        harness.settle();
+
+        assertAtMost("insets layout passes", INSETS_LAYOUT_PASSES, harness.takeLayoutPasses());
+        assertEquals("insets window changes", 0, harness.takeWindowAttributeChanges());
+        assertFalse("overlay requested layout", shadowOf(overlay).didRequestLayout());
+        assertSame("overlay layout params replaced", params, overlay.getLayoutParams());
+        assertEquals("content top padding", STATUS_BAR_HEIGHT + 21, harness.contentView().getPaddingTop());
+    }
+
+    @Test
+    public void identicalInsetsCostNothing() {
+        enterEdgeToEdgeWithColors();
+        SystemBarOverlayView overlay = harness.overlay();
+        assertNotNull("overlay attached", overlay);
+
+        startOperation();
+        harness.dispatchInsets(STATUS_BAR_HEIGHT, NAVIGATION_BAR_HEIGHT);
+        harness.settle();
+
+        assertEquals("insets layout passes", 0, harness.takeLayoutPasses());
+        assertEquals("insets window changes", 0, harness.takeWindowAttributeChanges());
+        assertFalse("decor requested layout", shadowOf(harness.decorView()).didRequestLayout());
+        assertFalse("overlay requested layout", shadowOf(overlay).didRequestLayout());
+        assertFalse("overlay redrawn", shadowOf(overlay).wasInvalidated());
+    }
+
+    @Test
+    public void transparentOverlayStaysDetached() {
+        JSObject options = new JSObject();
+        options.put("enabled", true);
+
+        startOperation();
+        PluginCall call = run("setEdgeToEdge", options);
+        harness.dispatchInsets(STATUS_BAR_HEIGHT, NAVIGATION_BAR_HEIGHT);
+        harness.settle();
+
+        harness.assertResolved(call);
+        assertNull("overlay attached", harness.overlay());
+        assertAtMost("setEdgeToEdge layout passes", EDGE_TO_EDGE_LAYOUT_PASSES, harness.takeLayoutPasses());
+        assertAtMost("setEdgeToEdge window changes", EDGE_TO_EDGE_WINDOW_CHANGES, harness.takeWindowAttributeChanges());
+    }
+
+    @Test
+    public void disablingEdgeToEdgeDetachesOverlayWithoutWindowChanges() {
+        enterEdgeToEdgeWithColors();
+        assertNotNull("overlay attached", harness.overlay());
+
+        JSObject options = new JSObject();
+        options.put("enabled", false);
+
+        startOperation();
+        PluginCall call = run("setEdgeToEdge", options);
+
+        harness.assertResolved(call);
+        assertNull("overlay attached", harness.overlay());
+        assertAtMost("setEdgeToEdge layout passes", EDGE_TO_EDGE_LAYOUT_PASSES, harness.takeLayoutPasses());
+        assertEquals("setEdgeToEdge window changes", 0, harness.takeWindowAttributeChanges());
+    }
+
+    /**
+     * Enable edge-to-edge with opaque bar colors and dispatch system bar
+     * insets, so the overlay is attached and painting.
+     */
+    private void enterEdgeToEdgeWithColors() {
+        JSObject options = colors("#FF2196F3", "#FF000000");
+        options.put("edgeToEdge", true);
+        run("configure", options);
+        harness.dispatchInsets(STATUS_BAR_HEIGHT, NAVIGATION_BAR_HEIGHT);
+        harness.settle();
+    }
+
+    private PluginCall run(String method, JSObject options) {
+        PluginCall call = harness.call(method, options);
+        switch (method) {
+            case "configure":
+                harness.plugin.configure(call);
+                break;
+            case "setBackgroundColors":
+                harness.plugin.setBackgroundColors(call);
+                break;
+            case "setEdgeToEdge":
+                harness.plugin.setEdgeToEdge(call);
+                break;
+            default:
+                throw new IllegalArgumentException(method);
+        }
+        harness.settle();
+        return call;
+    }
+
+    /**
+     * Clear the layout and redraw flags and the counters before an operation.
+     */
+    private void startOperation() {
+        harness.takeLayoutPasses();
+        harness.takeWindowAttributeChanges();
+
+        View[] views = { harness.decorView(), harness.contentView(), harness.overlay() };
+        for (View view : views) {
+            if (view != null) {
+                shadowOf(view).setDidRequestLayout(false);
+                shadowOf(view).clearWasInvalidated();
+            }
+        }
+    }
+
+    private static JSObject colors(String statusBar, String navigationBar) {
+        JSObject options = new JSObject();
+        options.put("contentBackgroundColor", "#FFFFFFFF");
+        options.put("statusBarBackgroundColor", statusBar);
+        options.put("navigationBarBackgroundColor", navigationBar);
+        return options;
+    }
+
+    private static void assertAtMost(String message, int budget, int actual) {
+        assertTrue(message + ": " + actual + " exceeds the budget of " + budget, actual <= budget);
+    }
+}
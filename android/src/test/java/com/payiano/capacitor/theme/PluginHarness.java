@@ -0,0 +1,126 @@
+package com.payiano.capacitor.theme;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.core.graphics.Insets;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+import com.getcapacitor.Bridge;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.MessageHandler;
+import com.getcapacitor.PluginCall;
+import java.time.Duration;
+import org.robolectric.Robolectric;
+
+/**
+ * A plugin instance attached to a resumed {@link SystemUITestActivity} through
+ * a mocked bridge, without a WebView. {@link NativeThemePlugin#load()} is not
+ * called, so no configured or persisted theme is applied.
+ */
+final class PluginHarness {
+
+    /** Long enough for queued calls, layout passes and inset dispatches to run */
+    private static final Duration SETTLE = Duration.ofMillis(100);
+
+    final SystemUITestActivity activity;
+    final NativeThemePlugin plugin;
+
+    private final MessageHandler messages = mock(MessageHandler.class);
+    private int callId;
+    private int layoutPasses;
+
+    PluginHarness() {
+        activity = Robolectric.buildActivity(SystemUITestActivity.class).setup().get();
+
+        Bridge bridge = mock(Bridge.class);
+        when(bridge.getActivity()).thenReturn(activity);
+        when(bridge.getContext()).thenReturn(activity);
+
+        plugin = new NativeThemePlugin();
+        plugin.setBridge(bridge);
+
+        decorView().getViewTreeObserver().addOnGlobalLayoutListener(() -> layoutPasses++);
+        settle();
+    }
+
+    PluginCall call(String method, JSObject options) {
+        return new PluginCall(messages, "SystemUI", String.valueOf(++callId), method, options);
+    }
+
+    void assertResolved(PluginCall call) {
+        verify(messages).sendResponseMessage(same(call), any(), isNull());
+    }
+
+    /**
+     * Run everything the main looper has scheduled, including frame callbacks.
+     */
+    void settle() {
+        shadowOf(Looper.getMainLooper()).idleFor(SETTLE);
+    }
+
+    ViewGroup decorView() {
+        return (ViewGroup) activity.getWindow().getDecorView();
+    }
+
+    View contentView() {
+        return activity.findViewById(android.R.id.content);
+    }
+
+    /**
+     * @return The attached system bar overlay, or null if it is not attached
+     */
+    SystemBarOverlayView overlay() {
+        ViewGroup decorView = decorView();
+        for (int i = 0; i < decorView.getChildCount(); i++) {
+            View child = decorView.getChildAt(i);
+            if (child instanceof SystemBarOverlayView) {
+                return (SystemBarOverlayView) child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Dispatch system bar insets to the content view, as the view root does
+     * on a device. Each call builds a new insets instance.
+     */
+    void dispatchInsets(int top, int bottom) {
+        ViewCompat.dispatchApplyWindowInsets(contentView(), systemBarInsets(top, bottom));
+    }
+
+    /**
+     * @return A new insets instance with the given system bar heights
+     */
+    static WindowInsetsCompat systemBarInsets(int top, int bottom) {
+        return new WindowInsetsCompat.Builder()
+            .setInsets(WindowInsetsCompat.Type.systemBars(), Insets.of(0, top, 0, bottom))
+            .build();
+    }
+
+    /**
+     * @return Layout passes run since the last call
+     */
+    int takeLayoutPasses() {
+        int passes = layoutPasses;
+        layoutPasses = 0;
+        return passes;
+    }
+
+    /**
+     * @return Window attribute changes since the last call
+     */
+    int takeWindowAttributeChanges() {
+        int changes = activity.windowAttributeChanges;
+        activity.windowAttributeChanges = 0;
+        return changes;
+    }
+}
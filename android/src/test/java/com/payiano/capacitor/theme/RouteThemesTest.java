@@ -0,0 +1,89 @@
+package com.payiano.capacitor.theme;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class RouteThemesTest {
+
+    @Test
+    public void pathPatternMatchesThePathOnly() {
+        RouteThemes routes = routes("/settings", "settings");
+
+        assertEquals("settings", routes.match("https://localhost/settings"));
+        assertEquals("settings", routes.match("https://localhost/settings?tab=1#top"));
+        assertNull(routes.match("https://localhost/settings/profile"));
+        assertNull(routes.match("https://localhost/account?next=/settings"));
+    }
+
+    @Test
+    public void urlPatternMatchesTheWholeUrl() {
+        RouteThemes routes = routes("https://example.com/*", "external");
+
+        assertEquals("external", routes.match("https://example.com/docs?page=2"));
+        assertNull(routes.match("https://localhost/"));
+        assertNull(routes.match("/docs"));
+    }
+
+    @Test
+    public void starMatchesAnyRunOfCharacters() {
+        RouteThemes routes = routes("/player/*/fullscreen", "player");
+
+        assertEquals("player", routes.match("https://localhost/player/42/fullscreen"));
+        assertEquals("player", routes.match("https://localhost/player/a/b/fullscreen"));
+        assertEquals("player", routes.match("https://localhost/player//fullscreen"));
+        assertNull(routes.match("https://localhost/player/42"));
+    }
+
+    @Test
+    public void otherCharactersMatchLiterally() {
+        RouteThemes routes = routes("/a.b+(c)", "literal");
+
+        assertEquals("literal", routes.match("https://localhost/a.b+(c)"));
+        assertNull(routes.match("https://localhost/axb+(c)"));
+        assertNull(routes.match("https://localhost/a.bb(c)"));
+    }
+
+    @Test
+    public void emptyPathMatchesRoot() {
+        RouteThemes routes = routes("/", "home");
+
+        assertEquals("home", routes.match("https://localhost"));
+        assertEquals("home", routes.match("https://localhost/"));
+    }
+
+    @Test
+    public void firstMatchingRuleWins() {
+        RouteThemes routes = new RouteThemes(
+            new String[] { "/player/*", "https://localhost/*", "/*" },
+            new String[] { "player", "local", "fallback" }
+        );
+
+        assertEquals("player", routes.match("https://localhost/player/42"));
+        assertEquals("local", routes.match("https://localhost/settings"));
+        assertEquals("fallback", routes.match("https://example.com/settings"));
+    }
+
+    @Test
+    public void noMatchReturnsNull() {
+        assertNull(routes("/settings", "settings").match(null));
+        assertNull(routes("/settings", "settings").match("https://localhost/home"));
+        assertNull(new RouteThemes(new String[0], new String[0]).match("https://localhost/"));
+    }
+
+    @Test
+    public void isEmptyOnlyWithoutRules() {
+        assertTrue(new RouteThemes(new String[0], new String[0]).isEmpty());
+        assertFalse(routes("/*", "any").isEmpty());
+    }
+
+    private static RouteThemes routes(String pattern, String themeName) {
+        return new RouteThemes(new String[] { pattern }, new String[] { themeName });
+    }
+}
@@ -0,0 +1,26 @@
+package com.payiano.capacitor.theme;
+
+import android.os.Bundle;
+import android.view.WindowManager;
+import androidx.appcompat.app.AppCompatActivity;
+
+/**
+ * Host activity for the plugin tests. Counts window attribute changes, which
+ * each cost a window relayout on a device.
+ */
+public class SystemUITestActivity extends AppCompatActivity {
+
+    int windowAttributeChanges;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        setTheme(androidx.appcompat.R.style.Theme_AppCompat_Light_NoActionBar);
+        super.onCreate(savedInstanceState);
+    }
+
+    @Override
+    public void onWindowAttributesChanged(WindowManager.LayoutParams params) {
+        super.onWindowAttributesChanged(params);
+        windowAttributeChanges++;
+    }
+}
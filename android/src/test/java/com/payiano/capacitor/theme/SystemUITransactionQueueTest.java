@@ -0,0 +1,181 @@
+package com.payiano.capacitor.theme;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class SystemUITransactionQueueTest {
+
+    private final List<SystemUIUpdate> committed = new ArrayList<>();
+    private final List<Boolean> supersededAtCommit = new ArrayList<>();
+    private SystemUITransactionQueue queue;
+
+    @Before
+    public void setUp() {
+        queue = new SystemUITransactionQueue(
+            updates -> {
+                for (SystemUIUpdate update : updates) {
+                    committed.add(update);
+                    supersededAtCommit.add(update.isSuperseded());
+                }
+            }
+        );
+    }
+
+    @Test
+    public void updatesInOneFrameCommitTogetherInArrivalOrder() {
+        SystemUIUpdate first = update();
+        first.statusBarStyle = "dark";
+        SystemUIUpdate second = update();
+        second.edgeToEdge = true;
+
+        queue.enqueue(first);
+        queue.enqueue(second);
+        assertTrue("committed before the frame", committed.isEmpty());
+        runFrame();
+
+        assertEquals(2, committed.size());
+        assertSame(first, committed.get(0));
+        assertSame(second, committed.get(1));
+        assertTrue(first.isSettled());
+        assertTrue(second.isSettled());
+    }
+
+    @Test
+    public void updateCoveredByNewerUpdatesIsSuperseded() {
+        SystemUIUpdate oldest = update();
+        oldest.statusBarStyle = "dark";
+        oldest.colors = colors(ColorSet.STATUS_BAR);
+        SystemUIUpdate style = update();
+        style.statusBarStyle = "light";
+        SystemUIUpdate color = update();
+        color.colors = colors(ColorSet.STATUS_BAR);
+
+        queue.enqueue(oldest);
+        queue.enqueue(style);
+        queue.enqueue(color);
+        runFrame();
+
+        assertEquals(List.of(true, false, false), supersededAtCommit);
+        assertEquals(1, queue.getSupersededCount());
+    }
+
+    @Test
+    public void partiallyCoveredUpdateIsApplied() {
+        SystemUIUpdate both = update();
+        both.statusBarStyle = "dark";
+        both.navigationBarStyle = "dark";
+        SystemUIUpdate status = update();
+        status.statusBarStyle = "light";
+
+        queue.enqueue(both);
+        queue.enqueue(status);
+        runFrame();
+
+        assertEquals(List.of(false, false), supersededAtCommit);
+        assertEquals(0, queue.getSupersededCount());
+    }
+
+    @Test
+    public void colorSlotsOnlyCoverTheSameSlots() {
+        SystemUIUpdate content = update();
+        content.colors = colors(ColorSet.CONTENT);
+        SystemUIUpdate bars = update();
+        bars.colors = colors(ColorSet.STATUS_BAR, ColorSet.NAV_BAR);
+        SystemUIUpdate statusBar = update();
+        statusBar.colors = colors(ColorSet.STATUS_BAR);
+
+        queue.enqueue(content);
+        queue.enqueue(bars);
+        queue.enqueue(statusBar);
+        runFrame();
+
+        assertEquals(List.of(false, false, false), supersededAtCommit);
+    }
+
+    @Test
+    public void updateWithoutPropertiesIsNeverSuperseded() {
+        SystemUIUpdate empty = update();
+        SystemUIUpdate style = update();
+        style.statusBarStyle = "dark";
+
+        queue.enqueue(empty);
+        queue.enqueue(style);
+        runFrame();
+
+        assertFalse(empty.isSuperseded());
+    }
+
+    @Test
+    public void supersessionIsScopedToOneFrame() {
+        SystemUIUpdate first = update();
+        first.edgeToEdge = true;
+        queue.enqueue(first);
+        runFrame();
+
+        SystemUIUpdate second = update();
+        second.edgeToEdge = false;
+        queue.enqueue(second);
+        runFrame();
+
+        assertEquals(List.of(false, false), supersededAtCommit);
+    }
+
+    @Test
+    public void pausingCommitsPendingUpdatesWithoutWaitingForAFrame() {
+        SystemUIUpdate update = update();
+        update.statusBarStyle = "dark";
+        queue.enqueue(update);
+
+        queue.setFrameDriven(false);
+        assertEquals(1, committed.size());
+        assertTrue(update.isSettled());
+
+        runFrame();
+        assertEquals("committed twice", 1, committed.size());
+    }
+
+    @Test
+    public void updatesWhilePausedCommitOnTheNextMainThreadTurn() {
+        queue.setFrameDriven(false);
+
+        SystemUIUpdate first = update();
+        first.statusBarStyle = "dark";
+        SystemUIUpdate second = update();
+        second.statusBarStyle = "light";
+        queue.enqueue(first);
+        queue.enqueue(second);
+        assertTrue("committed before the post", committed.isEmpty());
+
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(List.of(true, false), supersededAtCommit);
+    }
+
+    private void runFrame() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+    }
+
+    private static SystemUIUpdate update() {
+        return new SystemUIUpdate(null, "");
+    }
+
+    private static ColorSet colors(int... slots) {
+        ColorSet colors = new ColorSet();
+        for (int slot : slots) {
+            colors.set(slot, 0xFF000000);
+        }
+        return colors;
+    }
+}
@@ -0,0 +1,163 @@
+package com.payiano.capacitor.theme;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(RobolectricTestRunner.class)
+public class ThemeStoreTest {
+
+    private static final int CONFIG_HASH = 0x5EED;
+
+    private Context context;
+    private File file;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        file = new File(context.getFilesDir(), "system-ui-theme.bin");
+        file.delete();
+    }
+
+    @Test
+    public void missingFileRestoresNothing() {
+        ThemeStore store = new ThemeStore(context, CONFIG_HASH);
+
+        assertFalse(store.read());
+        assertEquals(ThemeStore.UNSET, store.getEdgeToEdge());
+        assertNull(store.getEntry("light"));
+    }
+
+    @Test
+    public void savedThemeReadsBack() throws Exception {
+        ThemeStore store = new ThemeStore(context, CONFIG_HASH);
+        store.setEdgeToEdge(true);
+        store.setEntry(ThemeStore.LIGHT, "day", palette(0xFFFFFFFF, "dark", null));
+        store.setEntry(ThemeStore.DARK, null, palette(0xFF101010, "light", "light"));
+        store.save();
+        awaitWrite();
+
+        ThemeStore restored = new ThemeStore(context, CONFIG_HASH);
+        assertTrue(restored.read());
+        assertEquals(1, restored.getEdgeToEdge());
+        assertSameEntry(store.getEntry(ThemeStore.LIGHT), restored.getEntry(ThemeStore.LIGHT));
+        assertSameEntry(store.getEntry(ThemeStore.DARK), restored.getEntry(ThemeStore.DARK));
+        assertEquals("day", restored.getEntry(ThemeStore.LIGHT).themeName);
+        assertEquals("", restored.getEntry(ThemeStore.DARK).themeName);
+        assertNull(restored.getEntry(ThemeStore.LIGHT).palette.navigationBarStyle);
+    }
+
+    @Test
+    public void unsetEdgeToEdgeAndMissingSlotReadBack() throws Exception {
+        ThemeStore store = new ThemeStore(context, CONFIG_HASH);
+        store.setEntry(ThemeStore.DARK, "night", palette(0xFF000000, "light", "light"));
+        store.save();
+        awaitWrite();
+
+        ThemeStore restored = new ThemeStore(context, CONFIG_HASH);
+        assertTrue(restored.read());
+        assertEquals(ThemeStore.UNSET, restored.getEdgeToEdge());
+        assertNull(restored.getEntry(ThemeStore.LIGHT));
+        assertSame(restored.getEntry(ThemeStore.DARK), restored.getEntry("light"));
+    }
+
+    @Test
+    public void differentConfigHashDiscardsTheFile() throws Exception {
+        ThemeStore store = new ThemeStore(context, CONFIG_HASH);
+        store.setEdgeToEdge(false);
+        store.setEntry(ThemeStore.LIGHT, "day", palette(0xFFFFFFFF, "dark", "dark"));
+        store.save();
+        awaitWrite();
+
+        ThemeStore restored = new ThemeStore(context, CONFIG_HASH + 1);
+        assertFalse(restored.read());
+        assertEquals(ThemeStore.UNSET, restored.getEdgeToEdge());
+        assertNull(restored.getEntry("light"));
+    }
+
+    @Test
+    public void differentVersionDiscardsTheFile() throws Exception {
+        ThemeStore store = new ThemeStore(context, CONFIG_HASH);
+        store.setEdgeToEdge(true);
+        store.setEntry(ThemeStore.LIGHT, "day", palette(0xFFFFFFFF, "dark", "dark"));
+        store.save();
+        awaitWrite();
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        bytes[0]++;
+        write(bytes);
+
+        ThemeStore restored = new ThemeStore(context, CONFIG_HASH);
+        assertFalse(restored.read());
+        assertEquals(ThemeStore.UNSET, restored.getEdgeToEdge());
+        assertNull(restored.getEntry("light"));
+    }
+
+    @Test
+    public void truncatedFileRestoresNothing() throws Exception {
+        ThemeStore store = new ThemeStore(context, CONFIG_HASH);
+        store.setEdgeToEdge(true);
+        store.setEntry(ThemeStore.LIGHT, "day", palette(0xFFFFFFFF, "dark", "dark"));
+        store.save();
+        awaitWrite();
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        byte[] truncated = new byte[bytes.length - 4];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        write(truncated);
+
+        ThemeStore restored = new ThemeStore(context, CONFIG_HASH);
+        assertFalse(restored.read());
+        assertEquals(ThemeStore.UNSET, restored.getEdgeToEdge());
+        assertNull(restored.getEntry("light"));
+    }
+
+    private static ThemePalette palette(int content, String statusBarStyle, String navigationBarStyle) {
+        ColorSet colors = new ColorSet();
+        colors.set(ColorSet.CONTENT, content);
+        return new ThemePalette(colors, statusBarStyle, navigationBarStyle);
+    }
+
+    private static void assertSameEntry(ThemeStore.Entry expected, ThemeStore.Entry actual) {
+        assertEquals(expected.themeName, actual.themeName);
+        assertEquals(expected.palette.colors.getMask(), actual.palette.colors.getMask());
+        for (int slot = 0; slot < ColorSet.COUNT; slot++) {
+            assertEquals(expected.palette.colors.get(slot, 0), actual.palette.colors.get(slot, 0));
+        }
+        assertEquals(expected.palette.statusBarStyle, actual.palette.statusBarStyle);
+        assertEquals(expected.palette.navigationBarStyle, actual.palette.navigationBarStyle);
+    }
+
+    /**
+     * Wait for the background writer; the file only appears once the atomic
+     * write has finished.
+     */
+    private void awaitWrite() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!file.exists()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Theme store was not written");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(bytes);
+        }
+    }
+}
@@ -47,6 +47,10 @@ public class NativeThemePlugin: CAPPlugin, CAPBridgedPlugin {
     private var currentColorScheme: String = "light"
     private var isKeyboardVisible: Bool = false
     
+    // getInfo payload last returned and its generation
+    private var lastInfo: JSObject?
+    private var infoGeneration: Int = 0
+    
     // ============================================
     // Color Configuration
     // ============================================
@@ -195,12 +199,12 @@ public class NativeThemePlugin: CAPPlugin, CAPBridgedPlugin {
         let statusBarVisible = call.getBool("statusBarVisible")
         let statusBarStyle = call.getString("statusBarStyle")
         let navigationBarStyle = call.getString("navigationBarStyle")
-        let contentBg = call.getString("contentBackgroundColor")
-        let statusBarBg = call.getString("statusBarBackgroundColor")
-        let navigationBarBg = call.getString("navigationBarBackgroundColor")
-        let navigationBarLeftBg = call.getString("navigationBarLeftBackgroundColor")
-        let navigationBarRightBg = call.getString("navigationBarRightBackgroundColor")
-        let cutoutBg = call.getString("cutoutBackgroundColor")
+        let contentBg = getColor(call, "contentBackgroundColor")
+        let statusBarBg = getColor(call, "statusBarBackgroundColor")
+        let navigationBarBg = getColor(call, "navigationBarBackgroundColor")
+        let navigationBarLeftBg = getColor(call, "navigationBarLeftBackgroundColor")
+        let navigationBarRightBg = getColor(call, "navigationBarRightBackgroundColor")
+        let cutoutBg = getColor(call, "cutoutBackgroundColor")
         
         DispatchQueue.main.async { [weak self] in
             guard let self = self else {
@@ -240,12 +244,12 @@ public class NativeThemePlugin: CAPPlugin, CAPBridgedPlugin {
     }
     
     @objc func setBackgroundColors(_ call: CAPPluginCall) {
-        let contentBg = call.getString("contentBackgroundColor")
-        let statusBarBg = call.getString("statusBarBackgroundColor")
-        let navigationBarBg = call.getString("navigationBarBackgroundColor")
-        let navigationBarLeftBg = call.getString("navigationBarLeftBackgroundColor")
-        let navigationBarRightBg = call.getString("navigationBarRightBackgroundColor")
-        let cutoutBg = call.getString("cutoutBackgroundColor")
+        let contentBg = getColor(call, "contentBackgroundColor")
+        let statusBarBg = getColor(call, "statusBarBackgroundColor")
+        let navigationBarBg = getColor(call, "navigationBarBackgroundColor")
+        let navigationBarLeftBg = getColor(call, "navigationBarLeftBackgroundColor")
+        let navigationBarRightBg = getColor(call, "navigationBarRightBackgroundColor")
+        let cutoutBg = getColor(call, "cutoutBackgroundColor")
         
         DispatchQueue.main.async { [weak self] in
             guard let self = self else {
@@ -340,6 +344,14 @@ public class NativeThemePlugin: CAPPlugin, CAPBridgedPlugin {
             result["isNavigationBarVisible"] = self.isNavigationBarVisible
             result["colorScheme"] = self.getSystemColorScheme()
             
+            // Bump the generation only when some value differs from the last payload
+            let unchanged = self.lastInfo.map { NSDictionary(dictionary: $0).isEqual(to: result) } ?? false
+            if !unchanged {
+                self.infoGeneration += 1
+                self.lastInfo = result
+            }
+            result["generation"] = self.infoGeneration
+            
             call.resolve(result)
         }
     }
@@ -595,21 +607,24 @@ public class NativeThemePlugin: CAPPlugin, CAPBridgedPlugin {
         updateOverlayFrames()
     }
     
+    /**
+     * Read a ColorValue option: a hex string or a packed ARGB number
+     */
+    private func getColor(_ call: CAPPluginCall, _ key: String) -> UIColor? {
+        if let number = call.options[key] as? NSNumber {
+            return UIColor.fromARGB(number.int64Value)
+        }
+        return call.getString(key).flatMap { UIColor.fromHex($0) }
+    }
+    
     private func parseAndStoreColors(
-        contentBg: String?,
-        statusBarBg: String?,
-        navigationBarBg: String?,
-        navigationBarLeftBg: String?,
-        navigationBarRightBg: String?,
-        cutoutBg: String?
+        contentBg parsedContentBg: UIColor?,
+        statusBarBg parsedStatusBarBg: UIColor?,
+        navigationBarBg parsedNavBarBg: UIColor?,
+        navigationBarLeftBg parsedNavBarLeftBg: UIColor?,
+        navigationBarRightBg parsedNavBarRightBg: UIColor?,
+        cutoutBg parsedCutoutBg: UIColor?
     ) {
-        let parsedContentBg = contentBg.flatMap { UIColor.fromHex($0) }
-        let parsedStatusBarBg = statusBarBg.flatMap { UIColor.fromHex($0) }
-        let parsedNavBarBg = navigationBarBg.flatMap { UIColor.fromHex($0) }
-        let parsedNavBarLeftBg = navigationBarLeftBg.flatMap { UIColor.fromHex($0) }
-        let parsedNavBarRightBg = navigationBarRightBg.flatMap { UIColor.fromHex($0) }
-        let parsedCutoutBg = cutoutBg.flatMap { UIColor.fromHex($0) }
-        
         if let color = parsedContentBg {
             contentBackgroundColor = color
         }
@@ -757,10 +772,23 @@ private class TraitObserverView: UIView {
 }
 
 // ============================================
-// UIColor Extension for Hex String Parsing
+// UIColor Extension for Color Value Parsing
 // ============================================
 
 extension UIColor {
+    /**
+     * Packed ARGB, as written `0xAARRGGBB` in JavaScript. Only the low 32 bits
+     * are used, so signed 32-bit values work too.
+     */
+    static func fromARGB(_ argb: Int64) -> UIColor {
+        let value = UInt32(truncatingIfNeeded: argb)
+        let a = CGFloat((value >> 24) & 0xFF) / 255.0
+        let r = CGFloat((value >> 16) & 0xFF) / 255.0
+        let g = CGFloat((value >> 8) & 0xFF) / 255.0
+        let b = CGFloat(value & 0xFF) / 255.0
+        return UIColor(red: r, green: g, blue: b, alpha: a)
+    }
+    
     static func fromHex(_ hex: String) -> UIColor? {
         var hexSanitized = hex.trimmingCharacters(in: .whitespacesAndNewlines)
         hexSanitized = hexSanitized.replacingOccurrences(of: "#", with: "")
@@ -48,6 +48,13 @@ export enum BarStyle {
    * The icons will be black/dark colored for visibility on light surfaces.
    */
   Dark = 'dark',
+
+  /**
+   * Pick the icon color from the luminance of the bar's background color
+   * (Android only). Re-evaluated natively whenever the colors change, so no
+   * separate `setBarStyles()` call is needed after changing colors.
+   */
+  Auto = 'auto',
 }
 
 /**
@@ -83,6 +90,14 @@ export enum ColorScheme {
 // CONFIGURATION INTERFACES
 // ============================================
 
+/**
+ * A color value accepted by the color options.
+ *
+ * - A hex string: `'#RRGGBB'` or `'#RRGGBBAA'`
+ * - A packed ARGB number, e.g. `0xff1a1a2e` (skips string parsing on Android)
+ */
+export type ColorValue = string | number;
+
 /**
  * Configuration options for the entire system UI.
  *
@@ -143,31 +158,31 @@ export interface SystemUIConfiguration {
   /**
    * Background color for the main content area.
    *
-   * Accepts hex color strings: `'#RRGGBB'` or `'#RRGGBBAA'`
+   * Accepts a `ColorValue`: a hex string (`'#RRGGBB'` or `'#RRGGBBAA'`) or a packed ARGB number.
    *
    * If this is the only color provided, it will cascade to all other areas
    * (status bar, navigation bar, cutout, and landscape bars).
    */
-  contentBackgroundColor?: string;
+  contentBackgroundColor?: ColorValue;
 
   /**
    * Background color for the status bar area (top of screen).
    *
-   * Accepts hex color strings: `'#RRGGBB'` or `'#RRGGBBAA'`
+   * Accepts a `ColorValue`: a hex string (`'#RRGGBB'` or `'#RRGGBBAA'`) or a packed ARGB number.
    *
    * If not provided, defaults to `contentBackgroundColor`.
    */
-  statusBarBackgroundColor?: string;
+  statusBarBackgroundColor?: ColorValue;
 
   /**
    * Background color for the navigation bar area (bottom of screen).
    *
    * On iOS, this affects the home indicator area.
-   * Accepts hex color strings: `'#RRGGBB'` or `'#RRGGBBAA'`
+   * Accepts a `ColorValue`: a hex string (`'#RRGGBB'` or `'#RRGGBBAA'`) or a packed ARGB number.
    *
    * If not provided, defaults to `contentBackgroundColor`.
    */
-  navigationBarBackgroundColor?: string;
+  navigationBarBackgroundColor?: ColorValue;
 
   // ---- Background Colors (Landscape) ----
 
@@ -177,11 +192,11 @@ export interface SystemUIConfiguration {
    * On Android, the navigation bar may appear on the left in landscape mode.
    * This also covers any left-side display cutout.
    *
-   * Accepts hex color strings: `'#RRGGBB'` or `'#RRGGBBAA'`
+   * Accepts a `ColorValue`: a hex string (`'#RRGGBB'` or `'#RRGGBBAA'`) or a packed ARGB number.
    *
    * Cascade order: `navigationBarRightBackgroundColor` → `navigationBarBackgroundColor` → `contentBackgroundColor`
    */
-  navigationBarLeftBackgroundColor?: string;
+  navigationBarLeftBackgroundColor?: ColorValue;
 
   /**
    * Background color for the RIGHT system bar area in landscape orientation.
@@ -189,11 +204,11 @@ export interface SystemUIConfiguration {
    * On Android, the navigation bar may appear on the right in landscape mode.
    * This also covers any right-side display cutout.
    *
-   * Accepts hex color strings: `'#RRGGBB'` or `'#RRGGBBAA'`
+   * Accepts a `ColorValue`: a hex string (`'#RRGGBB'` or `'#RRGGBBAA'`) or a packed ARGB number.
    *
    * Cascade order: `navigationBarLeftBackgroundColor` → `navigationBarBackgroundColor` → `contentBackgroundColor`
    */
-  navigationBarRightBackgroundColor?: string;
+  navigationBarRightBackgroundColor?: ColorValue;
 
   // ---- Display Cutout ----
 
@@ -201,11 +216,11 @@ export interface SystemUIConfiguration {
    * Background color for the display cutout (notch/Dynamic Island) area.
    *
    * This specifically targets the cutout region, separate from the status bar.
-   * Accepts hex color strings: `'#RRGGBB'` or `'#RRGGBBAA'`
+   * Accepts a `ColorValue`: a hex string (`'#RRGGBB'` or `'#RRGGBBAA'`) or a packed ARGB number.
    *
    * If not provided, defaults to `statusBarBackgroundColor`, then `contentBackgroundColor`.
    */
-  cutoutBackgroundColor?: string;
+  cutoutBackgroundColor?: ColorValue;
 }
 
 /**
@@ -216,37 +231,37 @@ export interface BackgroundColorsOptions {
    * Background color for the main content area.
    * This is the base color that cascades to all other areas if not specified.
    */
-  contentBackgroundColor?: string;
+  contentBackgroundColor?: ColorValue;
 
   /**
    * Background color for the status bar area.
    * Cascade: `contentBackgroundColor`
    */
-  statusBarBackgroundColor?: string;
+  statusBarBackgroundColor?: ColorValue;
 
   /**
    * Background color for the navigation bar area (bottom).
    * Cascade: `navigationBarLeftBackgroundColor` → `navigationBarRightBackgroundColor` → `contentBackgroundColor`
    */
-  navigationBarBackgroundColor?: string;
+  navigationBarBackgroundColor?: ColorValue;
 
   /**
    * Background color for the left system bar (landscape).
    * Cascade: `navigationBarRightBackgroundColor` → `navigationBarBackgroundColor` → `contentBackgroundColor`
    */
-  navigationBarLeftBackgroundColor?: string;
+  navigationBarLeftBackgroundColor?: ColorValue;
 
   /**
    * Background color for the right system bar (landscape).
    * Cascade: `navigationBarLeftBackgroundColor` → `navigationBarBackgroundColor` → `contentBackgroundColor`
    */
-  navigationBarRightBackgroundColor?: string;
+  navigationBarRightBackgroundColor?: ColorValue;
 
   /**
    * Background color for the display cutout area.
    * Cascade: `statusBarBackgroundColor` → `contentBackgroundColor`
    */
-  cutoutBackgroundColor?: string;
+  cutoutBackgroundColor?: ColorValue;
 }
 
 /**
@@ -299,6 +314,157 @@ export interface EdgeToEdgeOptions {
   enabled: boolean;
 }
 
+// ============================================
+// THEME INTERFACES
+// ============================================
+
+/**
+ * A theme palette: background colors plus optional bar styles.
+ *
+ * Colors cascade exactly like `setBackgroundColors()`. The cascade is resolved
+ * once when the theme is registered.
+ */
+export interface ThemePalette extends BackgroundColorsOptions {
+  /**
+   * Style of the status bar icons/content.
+   */
+  statusBarStyle?: BarStyle;
+
+  /**
+   * Style of the navigation bar icons/buttons (Android only).
+   */
+  navigationBarStyle?: BarStyle;
+}
+
+/**
+ * Initial configuration read from the `SystemUI` block of the Capacitor
+ * config when the plugin loads (Android only).
+ *
+ * Takes the same options as `configure()`, plus optional light/dark palettes.
+ * The palettes are registered as the themes `'light'` and `'dark'` and paired
+ * with the system color scheme.
+ *
+ * @example
+ * ```typescript
+ * // capacitor.config.ts
+ * plugins: {
+ *   SystemUI: {
+ *     edgeToEdge: true,
+ *     light: { contentBackgroundColor: '#FFFFFF', statusBarStyle: 'light' },
+ *     dark: { contentBackgroundColor: '#121212', statusBarStyle: 'dark' }
+ *   }
+ * }
+ * ```
+ */
+export interface SystemUIPluginConfig extends SystemUIConfiguration {
+  /**
+   * Palette applied in light mode.
+   */
+  light?: ThemePalette;
+
+  /**
+   * Palette applied in dark mode.
+   */
+  dark?: ThemePalette;
+}
+
+/**
+ * Options for registering a named theme.
+ */
+export interface RegisterThemeOptions {
+  /**
+   * Unique theme name. Registering an existing name replaces it.
+   */
+  name: string;
+
+  /**
+   * Colors and styles of the theme.
+   */
+  palette: ThemePalette;
+}
+
+/**
+ * Options for applying a registered theme.
+ */
+export interface ApplyThemeOptions {
+  /**
+   * Name of a theme previously passed to `registerTheme()`.
+   */
+  name: string;
+}
+
+/**
+ * Options for pairing registered themes with the system color scheme.
+ */
+export interface ColorSchemeThemesOptions {
+  /**
+   * Name of the registered theme to apply in light mode.
+   */
+  light?: string;
+
+  /**
+   * Name of the registered theme to apply in dark mode.
+   */
+  dark?: string;
+}
+
+/**
+ * A rule mapping WebView URLs to a registered theme.
+ */
+export interface RouteThemeRule {
+  /**
+   * URL pattern. Patterns starting with `/` match the URL path, others the
+   * whole URL. `*` matches any run of characters.
+   *
+   * @example '/settings/*'
+   */
+  pattern: string;
+
+  /**
+   * Name of the registered theme to apply.
+   */
+  theme: string;
+}
+
+/**
+ * Options for `setRouteThemes()`.
+ */
+export interface RouteThemesOptions {
+  /**
+   * Rules checked in order; the first match wins. Omit or pass an empty
+   * array to remove all rules.
+   */
+  rules?: RouteThemeRule[];
+}
+
+/**
+ * Interpolators available for color transitions.
+ */
+export type TransitionInterpolator =
+  | 'linear'
+  | 'accelerate'
+  | 'decelerate'
+  | 'accelerateDecelerate';
+
+/**
+ * Options for animated color transitions.
+ */
+export interface ColorTransitionOptions {
+  /**
+   * Duration of color transitions in milliseconds. `0` disables animation.
+   *
+   * @default 0
+   */
+  duration: number;
+
+  /**
+   * Easing curve of the transition.
+   *
+   * @default 'accelerateDecelerate'
+   */
+  interpolator?: TransitionInterpolator;
+}
+
 // ============================================
 // COLOR SCHEME (DARK MODE) INTERFACES
 // ============================================
@@ -337,6 +503,107 @@ export interface ColorSchemeChangeEvent {
   colorScheme: ColorScheme;
 }
 
+/**
+ * Event data emitted when the safe area insets change (Android only).
+ *
+ * Contains only the values that changed since the previous event. When
+ * edge-to-edge is turned off, every non-zero value is reported as 0.
+ *
+ * @example
+ * ```typescript
+ * SystemUI.addListener('safeAreaChanged', (event) => {
+ *   if (event.statusBarHeight !== undefined) {
+ *     header.style.paddingTop = `${event.statusBarHeight}px`;
+ *   }
+ * });
+ * ```
+ */
+export type SafeAreaChangeEvent = Partial<
+  Pick<
+    SystemUIInfo,
+    | 'statusBarHeight'
+    | 'navigationBarHeight'
+    | 'leftInset'
+    | 'rightInset'
+    | 'cutoutTop'
+    | 'cutoutLeft'
+    | 'cutoutRight'
+  >
+>;
+
+/**
+ * Event data emitted when the keyboard (IME) changes (Android only).
+ *
+ * Emitted when a keyboard animation starts, with the height it is moving to,
+ * and when it ends. Never emitted per animation frame.
+ *
+ * @example
+ * ```typescript
+ * SystemUI.addListener('keyboardChanged', (event) => {
+ *   if (!event.animating) {
+ *     console.log('Keyboard settled at', event.height);
+ *   }
+ * });
+ * ```
+ */
+export interface KeyboardChangeEvent {
+  /**
+   * Whether the keyboard is (or is becoming) visible.
+   */
+  visible: boolean;
+
+  /**
+   * Keyboard inset in pixels: the target height when `animating`, otherwise the final height.
+   */
+  height: number;
+
+  /**
+   * `true` when the keyboard animation just started, `false` once it has settled.
+   */
+  animating: boolean;
+}
+
+/**
+ * Options for `setKeyboardAvoidance()`.
+ */
+export interface KeyboardAvoidanceOptions {
+  /**
+   * Whether the content's bottom padding follows the keyboard.
+   */
+  enabled: boolean;
+}
+
+/**
+ * Options for `setScrollLinkedStatusBar()`.
+ */
+export interface ScrollLinkedStatusBarOptions {
+  /**
+   * Whether the status bar color follows the scroll position.
+   */
+  enabled: boolean;
+
+  /**
+   * Status bar color at (and above) `startOffset`. Required when enabled.
+   */
+  fromColor?: ColorValue;
+
+  /**
+   * Status bar color at (and below) `endOffset`. Required when enabled.
+   */
+  toColor?: ColorValue;
+
+  /**
+   * Scroll position, in CSS pixels, where the transition starts.
+   * @default 0
+   */
+  startOffset?: number;
+
+  /**
+   * Scroll position, in CSS pixels, where the transition ends. Required when enabled.
+   */
+  endOffset?: number;
+}
+
 // ============================================
 // SYSTEM INFO INTERFACE
 // ============================================
@@ -422,6 +689,131 @@ export interface SystemUIInfo {
    * Current system color scheme.
    */
   colorScheme: ColorScheme;
+
+  /**
+   * Version of the native state these values reflect.
+   * Unchanged between two calls means every other field is unchanged too.
+   * Always 0 on web.
+   */
+  generation: number;
+}
+
+// ============================================
+// BATCH INTERFACES
+// ============================================
+
+/**
+ * A single operation of `executeBatch()`.
+ */
+export type BatchOperation =
+  | { method: 'configure'; options: SystemUIConfiguration }
+  | { method: 'setBackgroundColors'; options: BackgroundColorsOptions }
+  | { method: 'setBarStyles'; options: BarStylesOptions }
+  | { method: 'setStatusBarVisibility'; options: StatusBarVisibilityOptions }
+  | {
+      method: 'setNavigationBarVisibility';
+      options: NavigationBarVisibilityOptions;
+    }
+  | { method: 'setEdgeToEdge'; options: EdgeToEdgeOptions }
+  | { method: 'applyTheme'; options: ApplyThemeOptions }
+  | { method: 'getInfo' }
+  | { method: 'getColorScheme' };
+
+/**
+ * Options for `executeBatch()`.
+ */
+export interface ExecuteBatchOptions {
+  /**
+   * Operations to run, in order.
+   */
+  operations: BatchOperation[];
+}
+
+/**
+ * Result of a single batched operation.
+ */
+export interface BatchOperationResult {
+  /**
+   * The operation's method name.
+   */
+  method: string;
+
+  /**
+   * Whether the operation succeeded.
+   */
+  success: boolean;
+
+  /**
+   * Error message when the operation failed.
+   */
+  error?: string;
+
+  /**
+   * `true` when the operation was skipped because later operations in the
+   * same frame set all of its properties (Android only).
+   */
+  superseded?: boolean;
+
+  /**
+   * Result of query operations (`getInfo`, `getColorScheme`).
+   */
+  result?: SystemUIInfo | ColorSchemeResult;
+}
+
+/**
+ * Result of `executeBatch()`.
+ */
+export interface ExecuteBatchResult {
+  /**
+   * One entry per operation, in the same order.
+   */
+  results: BatchOperationResult[];
+}
+
+// ============================================
+// DIAGNOSTICS INTERFACE
+// ============================================
+
+/**
+ * Options for `setTracingEnabled()`.
+ */
+export interface TracingOptions {
+  /**
+   * Whether to emit system trace sections and counters.
+   */
+  enabled: boolean;
+}
+
+/**
+ * Runtime diagnostics returned by `getDiagnostics()` (Android only).
+ */
+export interface SystemUIDiagnostics {
+  /**
+   * Number of window/view mutations that were actually performed.
+   */
+  appliedMutations: number;
+
+  /**
+   * Number of mutations skipped because the value was already applied.
+   */
+  skippedMutations: number;
+
+  /**
+   * Number of calls skipped because newer calls in the same frame set all of
+   * their properties. Such calls resolve with `{ superseded: true }`.
+   */
+  supersededCalls: number;
+
+  /**
+   * Number of state-changing calls compared against the last accepted call.
+   */
+  checkedCalls: number;
+
+  /**
+   * Number of calls identical to the last accepted call, resolved right away
+   * without any native work. The hit rate is `repeatedCalls / checkedCalls`.
+   */
+  repeatedCalls: number;
 }
 
 // ============================================
@@ -539,6 +931,150 @@ export interface SystemUIPlugin {
    */
   setBarStyles(options: BarStylesOptions): Promise<void>;
 
+  // ============================================
+  // THEME METHODS
+  // ============================================
+
+  /**
+   * Register a named theme for fast switching with `applyTheme()` (Android only).
+   *
+   * Colors are parsed and cascaded once, so later theme switches are a single
+   * small bridge call with no parsing.
+   *
+   * @param options - Theme name and palette
+   * @returns Promise that resolves when the theme is registered
+   *
+   * @example
+   * ```typescript
+   * await SystemUI.registerTheme({
+   *   name: 'dark',
+   *   palette: {
+   *     contentBackgroundColor: '#121212',
+   *     statusBarStyle: BarStyle.Light,
+   *     navigationBarStyle: BarStyle.Light
+   *   }
+   * });
+   * ```
+   */
+  registerTheme(options: RegisterThemeOptions): Promise<void>;
+
+  /**
+   * Apply a theme previously registered with `registerTheme()` (Android only).
+   *
+   * @param options - Theme name
+   * @returns Promise that resolves when the theme is applied
+   *
+   * @example
+   * ```typescript
+   * await SystemUI.applyTheme({ name: 'dark' });
+   * ```
+   */
+  applyTheme(options: ApplyThemeOptions): Promise<void>;
+
+  /**
+   * Pair registered themes with the system light/dark mode (Android only).
+   *
+   * When the system color scheme changes, the matching theme is applied
+   * natively before the new configuration is drawn, and `colorSchemeChanged`
+   * is emitted afterwards - no `configure()` round trip is needed. The theme
+   * for the current scheme is applied immediately.
+   *
+   * Call with no names to remove the pairing.
+   *
+   * @param options - Theme names for light and dark mode
+   * @returns Promise that resolves when the pairing is set
+   *
+   * @example
+   * ```typescript
+   * await SystemUI.setColorSchemeThemes({ light: 'light', dark: 'dark' });
+   * ```
+   */
+  setColorSchemeThemes(options: ColorSchemeThemesOptions): Promise<void>;
+
+  /**
+   * Apply registered themes when the WebView navigates (Android only).
+   *
+   * When a page starts loading, the theme of the first rule matching its URL
+   * is applied natively, before any of the page's JavaScript runs. The rules
+   * are also checked against the current URL right away.
+   *
+   * Client-side routes (`history.pushState()`, hash changes) are followed
+   * as well, unless the app replaced Capacitor's WebView client with its
+   * own, in which case only page loads are observed.
+   *
+   * @param options - Ordered URL pattern rules
+   * @returns Promise that resolves when the rules are set
+   *
+   * @example
+   * ```typescript
+   * await SystemUI.setRouteThemes({
+   *   rules: [
+   *     { pattern: '/checkout/*', theme: 'checkout' },
+   *     { pattern: '/*', theme: 'default' },
+   *   ],
+   * });
+   * ```
+   */
+  setRouteThemes(options: RouteThemesOptions): Promise<void>;
+
+  /**
+   * Animate background color changes natively (Android only).
+   *
+   * Once set, every color change - from `configure()`, `setBackgroundColors()`,
+   * `applyTheme()` or an automatic light/dark swap - animates the system bar
+   * areas and the window background, with no bridge traffic while animating.
+   *
+   * @param options - Transition duration and interpolator
+   * @returns Promise that resolves when the transition settings are applied
+   *
+   * @example
+   * ```typescript
+   * await SystemUI.setColorTransition({ duration: 250, interpolator: 'decelerate' });
+   * ```
+   */
+  setColorTransition(options: ColorTransitionOptions): Promise<void>;
+
+  /**
+   * Keep the content above the keyboard in edge-to-edge mode (Android only).
+   *
+   * When enabled, the content's bottom padding follows the keyboard natively,
+   * frame by frame with the keyboard animation, so there is no need to track
+   * resize events in JavaScript. Disabled by default.
+   *
+   * @param options - Whether keyboard avoidance is enabled
+   * @returns Promise that resolves when the setting is applied
+   *
+   * @example
+   * ```typescript
+   * await SystemUI.setKeyboardAvoidance({ enabled: true });
+   * ```
+   */
+  setKeyboardAvoidance(options: KeyboardAvoidanceOptions): Promise<void>;
+
+  /**
+   * Link the status bar color to the page's scroll position (Android only).
+   *
+   * The color is interpolated natively between `fromColor` and `toColor` as
+   * the page scrolls from `startOffset` to `endOffset`, on every scroll frame
+   * and without bridge traffic. Only document scrolling is observed, not
+   * scrolling inside nested scroll containers. While enabled it takes
+   * precedence over the status bar background color.
+   *
+   * @param options - Colors and scroll range, or `{ enabled: false }`
+   * @returns Promise that resolves when the link is set up
+   *
+   * @example
+   * ```typescript
+   * await SystemUI.setScrollLinkedStatusBar({
+   *   enabled: true,
+   *   fromColor: '#00000000',
+   *   toColor: '#1E88E5',
+   *   endOffset: 200,
+   * });
+   * ```
+   */
+  setScrollLinkedStatusBar(options: ScrollLinkedStatusBarOptions): Promise<void>;
+
   // ============================================
   // VISIBILITY METHODS
   // ============================================
@@ -632,6 +1168,69 @@ export interface SystemUIPlugin {
    */
   getInfo(): Promise<SystemUIInfo>;
 
+  // ============================================
+  // BATCH METHODS
+  // ============================================
+
+  /**
+   * Run several operations in a single bridge call (Android only).
+   *
+   * State-changing operations are applied together in one frame, in order.
+   * Queries (`getInfo`, `getColorScheme`) reflect the state after that frame.
+   * A failing operation does not prevent the others from running.
+   *
+   * @param options - Operations to run
+   * @returns Promise that resolves with one result per operation
+   *
+   * @example
+   * ```typescript
+   * const { results } = await SystemUI.executeBatch({
+   *   operations: [
+   *     { method: 'setEdgeToEdge', options: { enabled: true } },
+   *     { method: 'setBackgroundColors', options: { contentBackgroundColor: '#121212' } },
+   *     { method: 'setBarStyles', options: { statusBarStyle: BarStyle.Light } },
+   *     { method: 'getInfo' }
+   *   ]
+   * });
+   * ```
+   */
+  executeBatch(options: ExecuteBatchOptions): Promise<ExecuteBatchResult>;
+
+  /**
+   * Get runtime diagnostics for the native implementation (Android only).
+   *
+   * Useful for verifying that repeated calls are not causing redundant
+   * window or view updates.
+   *
+   * @returns Promise that resolves with diagnostic counters
+   *
+   * @example
+   * ```typescript
+   * const { appliedMutations, skippedMutations } = await SystemUI.getDiagnostics();
+   * ```
+   */
+  getDiagnostics(): Promise<SystemUIDiagnostics>;
+
+  /**
+   * Emit system trace sections and counters for profiling (Android only).
+   *
+   * When enabled, plugin methods, frame commits, edge-to-edge changes, inset
+   * dispatches and overlay updates show up as `SystemUI.*` sections in
+   * Perfetto. Each call's time spent queued shows up as a `SystemUI.queued`
+   * async slice. Inset values and mutation counts show up as counters.
+   * Async slices and counters need Android 10+.
+   * Disabled by default; costs nothing while disabled.
+   *
+   * @param options - Whether tracing is enabled
+   * @returns Promise that resolves when the setting is applied
+   *
+   * @example
+   * ```typescript
+   * await SystemUI.setTracingEnabled({ enabled: true });
+   * ```
+   */
+  setTracingEnabled(options: TracingOptions): Promise<void>;
+
   // ============================================
   // EVENT LISTENERS
   // ============================================
@@ -667,10 +1266,43 @@ export interface SystemUIPlugin {
     listenerFunc: (event: ColorSchemeChangeEvent) => void,
   ): Promise<PluginListenerHandle>;
 
+  /**
+   * Add a listener for safe area inset changes (Android only, edge-to-edge mode).
+   *
+   * Pushed natively instead of polling `getInfo()`. Fires at most once per
+   * frame, only when a value actually changed, and the event contains only
+   * the changed values (in pixels).
+   *
+   * @param eventName - The event name: 'safeAreaChanged'
+   * @param listenerFunc - Callback function receiving the changed inset values
+   * @returns Promise resolving to a handle for removing the listener
+   */
+  addListener(
+    eventName: 'safeAreaChanged',
+    listenerFunc: (event: SafeAreaChangeEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Add a listener for keyboard changes (Android only, edge-to-edge mode).
+   *
+   * Fires when a keyboard animation starts (with the target height) and when
+   * it ends, instead of on every animation frame.
+   *
+   * @param eventName - The event name: 'keyboardChanged'
+   * @param listenerFunc - Callback function receiving the keyboard state
+   * @returns Promise resolving to a handle for removing the listener
+   */
+  addListener(
+    eventName: 'keyboardChanged',
+    listenerFunc: (event: KeyboardChangeEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
   /**
    * Remove all listeners for a specific event or all events.
    *
    * @param eventName - Optional event name to remove listeners for
    */
-  removeAllListeners(eventName?: 'colorSchemeChanged'): Promise<void>;
+  removeAllListeners(
+    eventName?: 'colorSchemeChanged' | 'safeAreaChanged' | 'keyboardChanged',
+  ): Promise<void>;
 }
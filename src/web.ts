@@ -9,8 +9,22 @@ import type {
   NavigationBarVisibilityOptions,
   EdgeToEdgeOptions,
   SystemUIInfo,
+  SystemUIDiagnostics,
   ColorSchemeResult,
   ColorSchemeChangeEvent,
+  ColorValue,
+  RegisterThemeOptions,
+  ApplyThemeOptions,
+  ThemePalette,
+  ColorSchemeThemesOptions,
+  RouteThemesOptions,
+  ColorTransitionOptions,
+  KeyboardAvoidanceOptions,
+  ScrollLinkedStatusBarOptions,
+  TracingOptions,
+  ExecuteBatchOptions,
+  ExecuteBatchResult,
+  BatchOperationResult,
 } from './definitions';
 import { ColorScheme } from './definitions';
 
@@ -26,6 +40,8 @@ export class SystemUIWeb extends WebPlugin implements SystemUIPlugin {
   private contentBackgroundColor: string | null = null;
   private isEdgeToEdgeEnabled = false;
   private colorSchemeMediaQuery: MediaQueryList | null = null;
+  private themes = new Map<string, ThemePalette>();
+  private colorSchemeThemes: ColorSchemeThemesOptions = {};
 
   constructor() {
     super();
@@ -45,6 +61,7 @@ export class SystemUIWeb extends WebPlugin implements SystemUIPlugin {
         const colorScheme = event.matches
           ? ColorScheme.Dark
           : ColorScheme.Light;
+        this.applyColorSchemeTheme(colorScheme);
         this.notifyListeners('colorSchemeChanged', {
           colorScheme,
         } as ColorSchemeChangeEvent);
@@ -82,16 +99,15 @@ export class SystemUIWeb extends WebPlugin implements SystemUIPlugin {
       this.isEdgeToEdgeEnabled = options.edgeToEdge;
     }
 
-    if (options.contentBackgroundColor) {
-      this.contentBackgroundColor = options.contentBackgroundColor;
-      document.body.style.backgroundColor = options.contentBackgroundColor;
+    const contentColor = this.toCssColor(options.contentBackgroundColor);
+    if (contentColor) {
+      this.contentBackgroundColor = contentColor;
+      document.body.style.backgroundColor = contentColor;
     }
 
     // Update meta theme-color for mobile browsers
     this.updateThemeColorMeta(
-      options.statusBarBackgroundColor ||
-        options.contentBackgroundColor ||
-        null,
+      this.toCssColor(options.statusBarBackgroundColor) ?? contentColor,
     );
   }
 
@@ -102,18 +118,101 @@ export class SystemUIWeb extends WebPlugin implements SystemUIPlugin {
   async setBackgroundColors(options: BackgroundColorsOptions): Promise<void> {
     console.log('SystemUI: setBackgroundColors', options);
 
-    if (options.contentBackgroundColor) {
-      this.contentBackgroundColor = options.contentBackgroundColor;
-      document.body.style.backgroundColor = options.contentBackgroundColor;
+    const contentColor = this.toCssColor(options.contentBackgroundColor);
+    if (contentColor) {
+      this.contentBackgroundColor = contentColor;
+      document.body.style.backgroundColor = contentColor;
     }
 
     this.updateThemeColorMeta(
-      options.statusBarBackgroundColor ||
-        options.contentBackgroundColor ||
-        null,
+      this.toCssColor(options.statusBarBackgroundColor) ?? contentColor,
     );
   }
 
+  /**
+   * Register a named theme (web fallback).
+   * Stores the palette for later use with `applyTheme()`.
+   */
+  async registerTheme(options: RegisterThemeOptions): Promise<void> {
+    this.themes.set(options.name, options.palette);
+  }
+
+  /**
+   * Apply a registered theme (web fallback).
+   * Applies the palette's background colors like `setBackgroundColors()`.
+   */
+  async applyTheme(options: ApplyThemeOptions): Promise<void> {
+    const palette = this.themes.get(options.name);
+    if (!palette) {
+      throw new Error(`Unknown theme: ${options.name}`);
+    }
+    await this.setBackgroundColors(palette);
+  }
+
+  /**
+   * Pair registered themes with the color scheme (web fallback).
+   * The matching theme is applied whenever prefers-color-scheme changes.
+   */
+  async setColorSchemeThemes(options: ColorSchemeThemesOptions): Promise<void> {
+    for (const name of [options.light, options.dark]) {
+      if (name !== undefined && !this.themes.has(name)) {
+        throw new Error(`Unknown theme: ${name}`);
+      }
+    }
+    this.colorSchemeThemes = options;
+    this.applyColorSchemeTheme(this.getCurrentColorScheme());
+  }
+
+  /**
+   * Apply themes on WebView navigation (web fallback).
+   * No-op on web; apply themes from the router instead.
+   */
+  async setRouteThemes(options: RouteThemesOptions): Promise<void> {
+    console.log('SystemUI: setRouteThemes', options);
+    // No-op on web
+  }
+
+  /**
+   * Applies the theme paired with a color scheme, if any.
+   */
+  private applyColorSchemeTheme(colorScheme: ColorScheme): void {
+    const name =
+      colorScheme === ColorScheme.Dark
+        ? this.colorSchemeThemes.dark
+        : this.colorSchemeThemes.light;
+    const palette = name !== undefined ? this.themes.get(name) : undefined;
+    if (palette) {
+      this.setBackgroundColors(palette);
+    }
+  }
+
+  /**
+   * Configure color transitions (web fallback).
+   * No-op on web as there are no native system bars.
+   */
+  async setColorTransition(options: ColorTransitionOptions): Promise<void> {
+    console.log('SystemUI: setColorTransition', options);
+    // No-op on web
+  }
+
+  /**
+   * Keep content above the keyboard (web fallback).
+   * No-op on web; browsers resize the viewport themselves.
+   */
+  async setKeyboardAvoidance(options: KeyboardAvoidanceOptions): Promise<void> {
+    console.log('SystemUI: setKeyboardAvoidance', options);
+    // No-op on web
+  }
+
+  /**
+   * Link the status bar color to the scroll position (web fallback).
+   * No-op on web as there is no native status bar.
+   */
+  async setScrollLinkedStatusBar(options: ScrollLinkedStatusBarOptions): Promise<void> {
+    console.log('SystemUI: setScrollLinkedStatusBar', options);
+    // No-op on web
+  }
+
   /**
    * Set bar styles (web fallback).
    * No-op on web as there are no native system bars.
@@ -182,9 +281,108 @@ export class SystemUIWeb extends WebPlugin implements SystemUIPlugin {
       isStatusBarVisible: true,
       isNavigationBarVisible: true,
       colorScheme: this.getCurrentColorScheme(),
+      generation: 0,
     };
   }
 
+  /**
+   * Run several operations (web fallback).
+   * Runs each operation in order through the web implementation.
+   */
+  async executeBatch(options: ExecuteBatchOptions): Promise<ExecuteBatchResult> {
+    const results: BatchOperationResult[] = [];
+
+    for (const operation of options.operations) {
+      try {
+        switch (operation.method) {
+          case 'getInfo':
+            results.push({
+              method: operation.method,
+              success: true,
+              result: await this.getInfo(),
+            });
+            continue;
+          case 'getColorScheme':
+            results.push({
+              method: operation.method,
+              success: true,
+              result: await this.getColorScheme(),
+            });
+            continue;
+          case 'configure':
+            await this.configure(operation.options);
+            break;
+          case 'setBackgroundColors':
+            await this.setBackgroundColors(operation.options);
+            break;
+          case 'setBarStyles':
+            await this.setBarStyles(operation.options);
+            break;
+          case 'setStatusBarVisibility':
+            await this.setStatusBarVisibility(operation.options);
+            break;
+          case 'setNavigationBarVisibility':
+            await this.setNavigationBarVisibility(operation.options);
+            break;
+          case 'setEdgeToEdge':
+            await this.setEdgeToEdge(operation.options);
+            break;
+          case 'applyTheme':
+            await this.applyTheme(operation.options);
+            break;
+        }
+        results.push({ method: operation.method, success: true });
+      } catch (error) {
+        results.push({
+          method: operation.method,
+          success: false,
+          error: error instanceof Error ? error.message : String(error),
+        });
+      }
+    }
+
+    return { results };
+  }
+
+  /**
+   * Get runtime diagnostics (web fallback).
+   * Returns zero counters as there are no native views on web.
+   */
+  async getDiagnostics(): Promise<SystemUIDiagnostics> {
+    return {
+      appliedMutations: 0,
+      skippedMutations: 0,
+      supersededCalls: 0,
+      checkedCalls: 0,
+      repeatedCalls: 0,
+    };
+  }
+
+  /**
+   * Enable system tracing (web fallback).
+   * No-op on web; use the browser's performance tools instead.
+   */
+  async setTracingEnabled(options: TracingOptions): Promise<void> {
+    console.log('SystemUI: setTracingEnabled', options);
+    // No-op on web
+  }
+
+  /**
+   * Converts a color option to a CSS color string.
+   * Numbers are treated as packed ARGB values.
+   */
+  private toCssColor(color: ColorValue | undefined): string | null {
+    if (color === undefined || color === '') return null;
+    if (typeof color === 'string') return color;
+
+    const argb = color >>> 0;
+    const alpha = ((argb >>> 24) & 0xff) / 255;
+    const red = (argb >>> 16) & 0xff;
+    const green = (argb >>> 8) & 0xff;
+    const blue = argb & 0xff;
+    return `rgba(${red}, ${green}, ${blue}, ${alpha})`;
+  }
+
   /**
    * Updates the theme-color meta tag for mobile browsers.
    * This affects the browser's UI color in mobile Chrome, Safari, etc.